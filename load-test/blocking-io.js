@@ -0,0 +1,61 @@
+// Carga mixta de E/S bloqueante: lecturas JDBC públicas, login (JDBC + hash) y un envío de WhatsApp.
+// Uso: k6 run -e BASE_URL=http://localhost:8080 -e EMAIL=... -e PASSWORD=... load-test/blocking-io.js
+// Desactiva el límite de peticiones en el servidor (RATE_LIMIT_ENABLED=false) o todo acabará en 429.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const EMAIL = __ENV.EMAIL;
+const PASSWORD = __ENV.PASSWORD;
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'ramping-arrival-rate',
+            exec: 'reads',
+            startRate: 50,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: 200, duration: '1m' },
+                { target: 800, duration: '2m' },
+                { target: 800, duration: '2m' },
+            ],
+        },
+        logins: {
+            executor: 'constant-arrival-rate',
+            exec: 'login',
+            rate: 10,
+            timeUnit: '1s',
+            duration: '5m',
+            preAllocatedVUs: 20,
+            maxVUs: 200,
+        },
+    },
+    thresholds: {
+        'http_req_duration{scenario:reads}': ['p(99)<1000'],
+        http_req_failed: ['rate<0.01'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function reads() {
+    const page = Math.floor(Math.random() * 5);
+    const responses = http.batch([
+        ['GET', `${BASE_URL}/api/products/cards?page=${page}&size=12`],
+        ['GET', `${BASE_URL}/api/categories`],
+        ['GET', `${BASE_URL}/api/products/search?name=kayak&startDate=2030-01-01&endDate=2030-01-10`],
+    ]);
+    responses.forEach((res) => check(res, { 'status 200': (r) => r.status === 200 }));
+}
+
+export function login() {
+    if (!EMAIL || !PASSWORD) {
+        return;
+    }
+    const res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email: EMAIL, password: PASSWORD }), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(res, { 'login 200': (r) => r.status === 200 });
+}
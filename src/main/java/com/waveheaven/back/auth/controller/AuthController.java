@@ -2,12 +2,14 @@ package com.waveheaven.back.auth.controller;
 
 import com.waveheaven.back.auth.dto.AuthResponse;
 import com.waveheaven.back.auth.dto.LoginRequest;
+import com.waveheaven.back.auth.dto.RefreshTokenRequest;
 import com.waveheaven.back.auth.dto.RegisterRequest;
 import com.waveheaven.back.auth.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -32,10 +34,21 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(request));
     }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar token", description = "Canjea un refresh token por un nuevo access token y un nuevo refresh token")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
     @PostMapping("/logout")
-    @Operation(summary = "Cerrar sesión", description = "Cierra la sesión del usuario (el cliente debe eliminar el token)")
-    public ResponseEntity<Void> logout() {
-        // Con JWT stateless, el logout se maneja en el cliente eliminando el token
+    @Operation(summary = "Cerrar sesión", description = "Revoca el access token enviado y, si se incluye, el refresh token")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
         return ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,29 @@
+package com.waveheaven.back.auth.controller;
+
+import com.waveheaven.back.auth.security.JwtSigningKeys;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Endpoints de autenticación y registro de usuarios")
+public class JwksController {
+
+    private final JwtSigningKeys signingKeys;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "Claves públicas JWKS", description = "Claves públicas para verificar los tokens (vacío en modo HMAC)")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", signingKeys.getPublicJwks()));
+    }
+}
@@ -0,0 +1,175 @@
+package com.waveheaven.back.auth.security;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Signing and verification keys for access tokens.
+ *
+ * <p>{@code HMAC} (default) signs with the shared {@code jwt.secret}. {@code ES256} and
+ * {@code EdDSA} sign with the private key whose {@code kid} is {@code jwt.signing.active-kid},
+ * taken from the JWK set at {@code jwt.signing.jwks-location}. Every other key in that set
+ * keeps verifying, so a key is rotated by adding the new one, switching the active kid,
+ * and removing the old one once its tokens have expired. Public keys are published on
+ * the JWKS endpoint.</p>
+ */
+@Component
+@Slf4j
+public class JwtSigningKeys {
+
+    public static final String HMAC = "HMAC";
+
+    private final boolean asymmetric;
+    private final SecretKey hmacKey;
+    private final boolean acceptLegacyHmac;
+
+    private final SignatureAlgorithm algorithm;
+    private final String activeKid;
+    private final PrivateKey signingKey;
+    private final Map<String, PublicKey> verificationKeys = new LinkedHashMap<>();
+    private final List<PublicJwk<?>> publicJwks = new ArrayList<>();
+
+    public JwtSigningKeys(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.signing.algorithm:HMAC}") String algorithmId,
+            @Value("${jwt.signing.jwks-location:}") String jwksLocation,
+            @Value("${jwt.signing.active-kid:}") String activeKid,
+            @Value("${jwt.signing.accept-legacy-hmac:false}") boolean acceptLegacyHmac,
+            ResourceLoader resourceLoader) throws IOException {
+
+        this.hmacKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.asymmetric = !HMAC.equalsIgnoreCase(algorithmId);
+        this.acceptLegacyHmac = acceptLegacyHmac;
+
+        if (!asymmetric) {
+            this.algorithm = null;
+            this.activeKid = null;
+            this.signingKey = null;
+            return;
+        }
+
+        // Jwts.SIG also holds MAC ids such as HS256; only HMAC selects the shared secret
+        if (!(Jwts.SIG.get().get(algorithmId) instanceof SignatureAlgorithm signatureAlgorithm)) {
+            throw new IllegalStateException("Unsupported jwt.signing.algorithm '" + algorithmId
+                    + "', expected one of: " + HMAC + ", ES256, EdDSA");
+        }
+        this.algorithm = signatureAlgorithm;
+
+        Map<String, PrivateKey> privateKeys = new LinkedHashMap<>();
+        if (jwksLocation == null || jwksLocation.isBlank()) {
+            String kid = UUID.randomUUID().toString();
+            KeyPair keyPair = algorithm.keyPair().build();
+            privateKeys.put(kid, keyPair.getPrivate());
+            addVerificationKey(kid, keyPair.getPublic());
+            log.warn("No jwt.signing.jwks-location configured, using an ephemeral {} key (kid {}); "
+                    + "tokens will not survive a restart or validate on other nodes", algorithmId, kid);
+        } else {
+            loadKeys(resourceLoader, jwksLocation, privateKeys);
+        }
+
+        String kid = activeKid == null || activeKid.isBlank()
+                ? (privateKeys.size() == 1 ? privateKeys.keySet().iterator().next() : null)
+                : activeKid;
+        if (kid == null || !privateKeys.containsKey(kid)) {
+            throw new IllegalStateException("jwt.signing.active-kid must name a private key in " + jwksLocation);
+        }
+
+        this.activeKid = kid;
+        this.signingKey = privateKeys.get(kid);
+        log.info("Signing tokens with {} key {} ({} verification keys)", algorithmId, kid, verificationKeys.size());
+    }
+
+    public boolean isAsymmetric() {
+        return asymmetric;
+    }
+
+    public JwtBuilder sign(JwtBuilder builder) {
+        if (!asymmetric) {
+            return builder.signWith(hmacKey);
+        }
+        return builder.header().keyId(activeKid).and()
+                .signWith(signingKey, algorithm);
+    }
+
+    public JwtParserBuilder configure(JwtParserBuilder parser) {
+        if (!asymmetric) {
+            return parser.verifyWith(hmacKey);
+        }
+        return parser.keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                String kid = header.getKeyId();
+                if (kid == null && acceptLegacyHmac) {
+                    return hmacKey;
+                }
+                Key key = kid == null ? null : verificationKeys.get(kid);
+                if (key == null) {
+                    throw new InvalidKeyException("Unknown signing key id: " + kid);
+                }
+                return key;
+            }
+        });
+    }
+
+    // Public halves only, in JWK form
+    public List<PublicJwk<?>> getPublicJwks() {
+        return Collections.unmodifiableList(publicJwks);
+    }
+
+    private void loadKeys(ResourceLoader resourceLoader, String location, Map<String, PrivateKey> privateKeys)
+            throws IOException {
+        String json;
+        try (InputStream in = resourceLoader.getResource(location).getInputStream()) {
+            json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        JwkSet jwkSet = Jwks.setParser().build().parse(json);
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            String kid = jwk.getId();
+            if (kid == null) {
+                throw new IllegalStateException("Every key in " + location + " needs a kid");
+            }
+            if (jwk instanceof PrivateJwk<?, ?, ?> privateJwk) {
+                privateKeys.put(kid, privateJwk.toKey());
+                addVerificationKey(kid, privateJwk.toPublicJwk().toKey());
+            } else if (jwk instanceof PublicJwk<?> publicJwk) {
+                addVerificationKey(kid, publicJwk.toKey());
+            }
+        }
+    }
+
+    private void addVerificationKey(String kid, PublicKey publicKey) {
+        verificationKeys.put(kid, publicKey);
+        publicJwks.add(Jwks.builder().key(publicKey).id(kid).build());
+    }
+}
@@ -0,0 +1,46 @@
+package com.waveheaven.back.auth.security;
+
+import com.waveheaven.back.auth.repository.UserRepository;
+import com.waveheaven.back.shared.cache.BoundedTtlCache;
+import com.waveheaven.back.shared.transaction.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Principals by email for tokens that do not carry the user id and role claims.
+ * Code that updates or deletes a user row calls {@link #evict(String)} (today only
+ * PasswordUpgradeService; registration adds a row, and missing users are not cached).
+ * Changes made directly in the database are picked up once the TTL expires.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final BoundedTtlCache<String, AuthenticatedUser> cache;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            @Value("${app.security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${app.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = new BoundedTtlCache<>(maxSize, ttl);
+    }
+
+    public AuthenticatedUser get(String email) {
+        AuthenticatedUser principal = cache.get(email, key -> userRepository.findByEmail(key)
+                .map(AuthenticatedUser::from)
+                .orElse(null));
+
+        if (principal == null) {
+            throw new UsernameNotFoundException("Usuario no encontrado");
+        }
+        return principal;
+    }
+
+    public void evict(String email) {
+        AfterCommit.run(() -> cache.invalidate(email));
+    }
+}
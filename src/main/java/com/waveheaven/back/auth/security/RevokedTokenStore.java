@@ -0,0 +1,107 @@
+package com.waveheaven.back.auth.security;
+
+import com.waveheaven.back.auth.repository.RevokedTokenRepository;
+import com.waveheaven.back.shared.cache.BloomFilter;
+import com.waveheaven.back.shared.transaction.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Revoked access token ids (jti). The request path only touches an in-memory Bloom
+ * filter; the revoked_tokens table is read just to confirm a filter hit, which is rare
+ * for tokens that were never revoked. Other nodes' revocations arrive on the periodic
+ * sync, and the filter is rebuilt without expired entries when the table is purged.
+ */
+@Component
+@Slf4j
+public class RevokedTokenStore {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration syncInterval;
+
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastSync = LocalDateTime.now();
+
+    public RevokedTokenStore(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+            @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${jwt.revocation.sync-interval:30s}") Duration syncInterval) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncInterval = syncInterval;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    @Transactional
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        if (jti == null) {
+            return;
+        }
+
+        // Adding an already revoked jti to the filter again is harmless
+        revokedTokenRepository.insertIfAbsent(jti, expiresAt, LocalDateTime.now());
+        AfterCommit.run(() -> filter.add(jti));
+    }
+
+    // Picks up revocations made on other nodes
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:30s}")
+    @Transactional(readOnly = true)
+    public void sync() {
+        // Look back one extra interval so rows committed late are not missed
+        LocalDateTime now = LocalDateTime.now();
+        List<String> jtis = revokedTokenRepository.findJtisRevokedSince(lastSync.minus(syncInterval));
+        BloomFilter current = filter;
+        jtis.forEach(current::add);
+        lastSync = now;
+    }
+
+    @Scheduled(cron = "${jwt.revocation.purge-cron:0 0 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired revoked tokens", deleted);
+        }
+        rebuild();
+    }
+
+    private void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, jtis.size() * 2), falsePositiveRate);
+        jtis.forEach(rebuilt::add);
+        filter = rebuilt;
+
+        // Revocations committed while the new filter was being built went to the old one
+        revokedTokenRepository.findJtisRevokedSince(now.minus(syncInterval)).forEach(rebuilt::add);
+        lastSync = now;
+        log.info("Revoked token filter loaded with {} entries", jtis.size());
+    }
+}
@@ -2,23 +2,34 @@ package com.waveheaven.back.auth.service;
 
 import com.waveheaven.back.auth.dto.AuthResponse;
 import com.waveheaven.back.auth.dto.LoginRequest;
+import com.waveheaven.back.auth.dto.RefreshTokenRequest;
 import com.waveheaven.back.auth.dto.RegisterRequest;
 import com.waveheaven.back.auth.entity.Role;
 import com.waveheaven.back.auth.entity.User;
 import com.waveheaven.back.auth.repository.UserRepository;
+import com.waveheaven.back.auth.security.PasswordHashingExecutor;
+import com.waveheaven.back.auth.security.RevokedTokenStore;
 import com.waveheaven.back.email.service.EmailService;
 import com.waveheaven.back.shared.exception.ConflictException;
 import com.waveheaven.back.shared.exception.UnauthorizedException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService {
 
     private final UserRepository userRepository;
@@ -26,6 +37,9 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
+    private final RevokedTokenStore revokedTokenStore;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -37,7 +51,7 @@ public class AuthService {
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .email(request.getEmail().toLowerCase())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingExecutor.execute(() -> passwordEncoder.encode(request.getPassword())))
                 .role(Role.ADMIN)
                 .build();
 
@@ -52,12 +66,14 @@ public class AuthService {
 
         String token = jwtService.generateToken(user);
 
-        return buildAuthResponse(user, token);
+        return buildAuthResponse(user, token, refreshTokenService.issue(user));
     }
 
     public AuthResponse login(LoginRequest request) {
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            // The provider hashes on the bounded pool (see ApplicationConfig); lookups run here
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getEmail().toLowerCase(),
                             request.getPassword()
@@ -67,17 +83,42 @@ public class AuthService {
             throw new UnauthorizedException("Email o contraseña incorrectos");
         }
 
-        User user = userRepository.findByEmail(request.getEmail().toLowerCase())
-                .orElseThrow(() -> new UnauthorizedException("Email o contraseña incorrectos"));
+        User user = (User) authentication.getPrincipal();
 
         String token = jwtService.generateToken(user);
 
-        return buildAuthResponse(user, token);
+        return buildAuthResponse(user, token, refreshTokenService.issue(user));
+    }
+
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotation.user();
+
+        return buildAuthResponse(user, jwtService.generateToken(user), rotation.refreshToken());
+    }
+
+    // Revokes the access token (by jti) and the refresh token family; both are optional
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtService.parseToken(accessToken);
+                LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+                revokedTokenStore.revoke(claims.getId(), expiresAt);
+            } catch (JwtException e) {
+                log.debug("Logout with an invalid or expired access token, nothing to revoke");
+            }
+        }
+
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
     }
 
-    private AuthResponse buildAuthResponse(User user, String token) {
+    private AuthResponse buildAuthResponse(User user, String token, String refreshToken) {
         return AuthResponse.builder()
                 .token(token)
+                .refreshToken(refreshToken)
+                .expiresIn(jwtService.getExpirationSeconds())
                 .email(user.getEmail())
                 .firstName(user.getFirstName())
                 .lastName(user.getLastName())
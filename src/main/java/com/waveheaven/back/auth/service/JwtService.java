@@ -1,39 +1,102 @@
 package com.waveheaven.back.auth.service;
 
+import com.waveheaven.back.auth.entity.Role;
+import com.waveheaven.back.auth.entity.User;
+import com.waveheaven.back.auth.security.AuthenticatedUser;
+import com.waveheaven.back.auth.security.JwtSigningKeys;
+import com.waveheaven.back.shared.cache.BoundedTtlCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
-import java.nio.charset.StandardCharsets;
 
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
 
-    public String extractUsername(String token) {   
+    // Built once; both are immutable and thread-safe
+    private final JwtSigningKeys signingKeys;
+    private final JwtParser jwtParser;
+
+    // Recently verified tokens, so a client repeating its bearer token skips the HMAC check
+    private final BoundedTtlCache<String, Claims> verifiedTokens;
+
+    public JwtService(
+            JwtSigningKeys signingKeys,
+            @Value("${jwt.expiration}") long jwtExpiration,
+            @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheSize,
+            @Value("${jwt.verified-cache.ttl:5m}") Duration verifiedCacheTtl) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKeys = signingKeys;
+        this.jwtParser = signingKeys.configure(Jwts.parser()).build();
+        this.verifiedTokens = new BoundedTtlCache<>(verifiedCacheSize, verifiedCacheTtl);
+    }
+
+    /**
+     * Verifies the signature and expiration once and returns the claims.
+     * Throws a JwtException when the token is malformed, forged or expired.
+     */
+    public Claims parseToken(String token) {
+        Claims cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (isExpired(cached)) {
+                verifiedTokens.invalidate(token);
+                throw new ExpiredJwtException(null, cached, "JWT expired");
+            }
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        verifiedTokens.put(token, claims);
+        return claims;
+    }
+
+    public long getExpirationSeconds() {
+        return jwtExpiration / 1000;
+    }
+
+    public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
 
+    // Principal straight from the uid/role claims, or null when the token does not carry them
+    public AuthenticatedUser extractPrincipal(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), Role.valueOf(role));
+    }
+
+    // Embeds the user id and role so requests need no user lookup
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        return generateToken(claims, user);
+    }
+
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
     }
@@ -43,38 +106,23 @@ public class JwtService {
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
-        return Jwts.builder()
-                .claims(extraClaims)
-                .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+        return signingKeys.sign(Jwts.builder()
+                        .claims(extraClaims)
+                        .id(UUID.randomUUID().toString())
+                        .subject(userDetails.getUsername())
+                        .issuedAt(new Date(System.currentTimeMillis()))
+                        .expiration(new Date(System.currentTimeMillis() + expiration)))
                 .compact();
     }
 
+    // Expiration is enforced by parseToken, so only the subject is left to compare
     public boolean isTokenValid(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return username.equals(userDetails.getUsername());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSignInKey() {
-    byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-    return Keys.hmacShaKeyFor(keyBytes);
-}
 }
@@ -0,0 +1,37 @@
+package com.waveheaven.back.auth.service;
+
+import com.waveheaven.back.auth.entity.User;
+import com.waveheaven.back.auth.repository.UserRepository;
+import com.waveheaven.back.auth.security.PrincipalCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Called by DaoAuthenticationProvider after a successful login whose stored hash uses
+ * an older encoder or cost than the configured one; stores the re-encoded hash.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado"));
+
+        user.setPassword(newPassword);
+        principalCache.evict(user.getEmail());
+        log.info("Password hash upgraded for user {}", user.getId());
+        return user;
+    }
+}
@@ -6,6 +6,8 @@ import com.waveheaven.back.categories.dto.UpdateCategoryRequest;
 import com.waveheaven.back.categories.entity.Category;
 import com.waveheaven.back.categories.mapper.CategoryMapper;
 import com.waveheaven.back.categories.repository.CategoryRepository;
+import com.waveheaven.back.products.service.ProductCardService;
+import com.waveheaven.back.products.service.ProductSuggestionIndex;
 import com.waveheaven.back.shared.exception.ConflictException;
 import com.waveheaven.back.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,8 @@ import java.util.List;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ProductSuggestionIndex suggestionIndex;
+    private final ProductCardService productCardService;
     private final CategoryMapper categoryMapper;
 
     @Transactional
@@ -31,6 +35,7 @@ public class CategoryService {
 
         Category category = categoryMapper.toEntity(request);
         Category savedCategory = categoryRepository.save(category);
+        suggestionIndex.indexCategory(savedCategory.getId(), savedCategory.getTitle());
         log.info("Categoría creada con ID: {}", savedCategory.getId());
 
         return categoryMapper.toResponse(savedCategory);
@@ -71,6 +76,8 @@ public class CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(category);
+        suggestionIndex.indexCategory(updatedCategory.getId(), updatedCategory.getTitle());
+        productCardService.categoryRenamed(updatedCategory.getId(), updatedCategory.getTitle());
         log.info("Categoría actualizada con ID: {}", updatedCategory.getId());
 
         return categoryMapper.toResponse(updatedCategory);
@@ -83,6 +90,8 @@ public class CategoryService {
         }
 
         categoryRepository.deleteById(id);
+        productCardService.categoryDeleted(id);
+        suggestionIndex.removeCategory(id);
         log.info("Categoría eliminada con ID: {}", id);
     }
 }
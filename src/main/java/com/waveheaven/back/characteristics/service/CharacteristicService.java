@@ -6,6 +6,7 @@ import com.waveheaven.back.characteristics.dto.UpdateCharacteristicRequest;
 import com.waveheaven.back.characteristics.entity.Characteristic;
 import com.waveheaven.back.characteristics.mapper.CharacteristicMapper;
 import com.waveheaven.back.characteristics.repository.CharacteristicRepository;
+import com.waveheaven.back.products.service.ProductSuggestionIndex;
 import com.waveheaven.back.shared.exception.ConflictException;
 import com.waveheaven.back.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +22,7 @@ import java.util.List;
 public class CharacteristicService {
 
     private final CharacteristicRepository characteristicRepository;
+    private final ProductSuggestionIndex suggestionIndex;
     private final CharacteristicMapper characteristicMapper;
 
     @Transactional
@@ -31,6 +33,7 @@ public class CharacteristicService {
 
         Characteristic characteristic = characteristicMapper.toEntity(request);
         Characteristic savedCharacteristic = characteristicRepository.save(characteristic);
+        suggestionIndex.indexCharacteristic(savedCharacteristic.getId(), savedCharacteristic.getName());
         log.info("Característica creada con ID: {}", savedCharacteristic.getId());
 
         return characteristicMapper.toResponse(savedCharacteristic);
@@ -67,6 +70,7 @@ public class CharacteristicService {
         }
 
         Characteristic updatedCharacteristic = characteristicRepository.save(characteristic);
+        suggestionIndex.indexCharacteristic(updatedCharacteristic.getId(), updatedCharacteristic.getName());
         log.info("Característica actualizada con ID: {}", updatedCharacteristic.getId());
 
         return characteristicMapper.toResponse(updatedCharacteristic);
@@ -79,6 +83,7 @@ public class CharacteristicService {
         }
 
         characteristicRepository.deleteById(id);
+        suggestionIndex.removeCharacteristic(id);
         log.info("Característica eliminada con ID: {}", id);
     }
 }
@@ -1,9 +1,64 @@
 package com.waveheaven.back.config;
 
+import com.waveheaven.back.shared.concurrent.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
 
 @Configuration
-@EnableAsync
+@Slf4j
 public class AsyncConfig {
+
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+
+    /**
+     * Dedicated pool for outgoing mail. The queue is bounded; when it is full the task
+     * runs on the submitting thread instead of being dropped, which also slows the
+     * producer down. On shutdown queued mail is drained for up to the configured time.
+     * Pool and queue gauges are published by Spring Boot as executor.* with name=mailExecutor.
+     * With spring.threads.virtual.enabled (the "virtual" profile on Java 21) the workers are
+     * virtual threads; the pool size still caps concurrent SMTP connections.
+     */
+    @Bean(name = MAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor mailExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.executor.core-size:2}") int coreSize,
+            @Value("${app.mail.executor.max-size:4}") int maxSize,
+            @Value("${app.mail.executor.queue-capacity:500}") int queueCapacity,
+            @Value("${app.mail.executor.await-termination:30s}") Duration awaitTermination,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+
+        Counter callerRuns = Counter.builder("mail.executor.caller.runs")
+                .description("Mail tasks run on the submitting thread because the queue was full")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mail-");
+        if (virtualThreads) {
+            if (VirtualThreads.isSupported()) {
+                executor.setThreadFactory(VirtualThreads.factory("mail-"));
+            } else {
+                log.warn("spring.threads.virtual.enabled is set but this JVM has no virtual threads (Java 21+ required); "
+                        + "using platform threads");
+            }
+        }
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            callerRuns.increment();
+            log.warn("Mail queue full ({} pending), sending on the caller thread", pool.getQueue().size());
+            task.run();
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(awaitTermination.toMillis());
+        executor.initialize();
+        return executor;
+    }
 }
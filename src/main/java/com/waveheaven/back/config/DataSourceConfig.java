@@ -0,0 +1,53 @@
+package com.waveheaven.back.config;
+
+import com.waveheaven.back.shared.diagnostics.SamplingSqlLogger;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class DataSourceConfig {
+
+    /**
+     * Sizes the Hikari pool when app.datasource.pool-size is set (the prod profile).
+     * 0 derives it from the core count with the PostgreSQL rule of thumb,
+     * cores * 2 + 1; any positive value, usually taken from a load test, wins.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.pool-size")
+    static BeanPostProcessor hikariPoolSizer(@Value("${app.datasource.pool-size}") int configuredSize) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    int poolSize = configuredSize > 0
+                            ? configuredSize
+                            : Runtime.getRuntime().availableProcessors() * 2 + 1;
+                    dataSource.setMaximumPoolSize(poolSize);
+                    dataSource.setMinimumIdle(poolSize);
+                    log.info("Hikari pool sized to {} connections ({})", poolSize,
+                            configuredSize > 0 ? "configured" : "from core count");
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Logs a sample of executed SQL through the application logger instead of show-sql's stdout
+    @Bean
+    public HibernatePropertiesCustomizer sqlSamplingCustomizer(
+            @Value("${app.sql-log.sample-rate:0}") double sampleRate) {
+        return properties -> {
+            if (sampleRate > 0) {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SamplingSqlLogger(sampleRate));
+            }
+        };
+    }
+}
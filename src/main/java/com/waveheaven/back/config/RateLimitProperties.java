@@ -0,0 +1,39 @@
+package com.waveheaven.back.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route request limits, bound from app.rate-limit.*. Rules are checked in order and
+ * the first one matching the request applies; requests matching no rule are not limited.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Distinct clients tracked per rule; past this, new clients share one overflow bucket
+    private int maxClientsPerRule = 100_000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        private String name;
+        private List<String> paths = new ArrayList<>();
+        private String method; // Optional: GET, POST...; any method when empty
+        private double permitsPerSecond;
+        private int burst;
+        private KeyType key = KeyType.USER_OR_IP;
+    }
+
+    public enum KeyType {
+        IP,
+        USER_OR_IP
+    }
+}
@@ -0,0 +1,38 @@
+package com.waveheaven.back.config;
+
+import com.waveheaven.back.shared.concurrent.VirtualThreads;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Scheduler for every @Scheduled job (outbox poll, revocation sync, availability resync,
+     * purges, rate-limit sweep). Declared here because with spring.threads.virtual.enabled
+     * Boot would otherwise build a SimpleAsyncTaskScheduler, which runs fixed-delay jobs
+     * one after another on its single scheduler thread, so a slow SMTP flush would hold back
+     * the rest. The pool size applies in both modes; with virtual threads the workers are
+     * virtual.
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(
+            @Value("${spring.task.scheduling.pool.size:4}") int poolSize,
+            @Value("${spring.task.scheduling.thread-name-prefix:scheduling-}") String threadNamePrefix,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            scheduler.setThreadFactory(VirtualThreads.factory(threadNamePrefix));
+        }
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
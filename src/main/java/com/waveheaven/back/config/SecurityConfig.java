@@ -1,7 +1,10 @@
 package com.waveheaven.back.config;
 
 import com.waveheaven.back.auth.config.JwtAuthenticationFilter;
+import com.waveheaven.back.shared.ratelimit.RateLimitFilter;
+import com.waveheaven.back.shared.transaction.DatabaseAdmissionFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -18,11 +21,14 @@ import org.springframework.web.cors.CorsConfigurationSource;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final CorsConfigurationSource corsConfigurationSource;
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final DatabaseAdmissionFilter databaseAdmissionFilter;
     private final AuthenticationProvider authenticationProvider;
 
     @Bean
@@ -33,6 +39,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Endpoints públicos
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers(
                                 "/swagger-ui/**",
@@ -41,6 +48,8 @@ public class SecurityConfig {
                                 "/swagger-resources/**",
                                 "/webjars/**"
                         ).permitAll()
+                        // Diagnóstico de pinning: expone nombres de hilos y pilas, solo admin
+                        .requestMatchers("/actuator/pinning", "/actuator/pinning/**").hasRole("ADMIN")
                         .requestMatchers("/actuator/**").permitAll()
 
                         // Productos: lectura pública, escritura solo admin
@@ -86,6 +95,10 @@ public class SecurityConfig {
                 )
                 .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // After JWT so authenticated callers are limited per user, anonymous ones per IP
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+                // Throttled requests are turned away before they wait for a database permit
+                .addFilterAfter(databaseAdmissionFilter, RateLimitFilter.class)
                 .headers(headers -> headers
                         .frameOptions(frameOptions -> frameOptions.disable())
                 );
@@ -0,0 +1,8 @@
+package com.waveheaven.back.email.entity;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,59 @@
+package com.waveheaven.back.email.repository;
+
+import com.waveheaven.back.email.entity.EmailOutbox;
+import com.waveheaven.back.email.entity.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Idempotent enqueue: a second insert with the same dedupe key is ignored
+    @Modifying
+    @Query(value = "INSERT INTO email_outbox (dedupe_key, template, recipient, subject, payload, status, " +
+                   "attempts, next_attempt_at, created_at, updated_at) " +
+                   "VALUES (:dedupeKey, :template, :recipient, :subject, :payload, 'PENDING', 0, :now, :now, :now) " +
+                   "ON CONFLICT (dedupe_key) DO NOTHING",
+           nativeQuery = true)
+    int enqueue(@Param("dedupeKey") String dedupeKey,
+                @Param("template") String template,
+                @Param("recipient") String recipient,
+                @Param("subject") String subject,
+                @Param("payload") String payload,
+                @Param("now") LocalDateTime now);
+
+    // Due rows: pending retries and SENDING rows whose lease ran out. Rows locked by another dispatcher are skipped.
+    @Query(value = "SELECT id FROM email_outbox " +
+                   "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.nextAttemptAt = :leaseUntil, " +
+           "e.attempts = e.attempts + 1, e.updatedAt = :now WHERE e.id IN :ids")
+    void markClaimed(@Param("ids") Collection<Long> ids,
+                     @Param("status") EmailOutboxStatus status,
+                     @Param("leaseUntil") LocalDateTime leaseUntil,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.sentAt = :now, e.lastError = NULL, " +
+           "e.updatedAt = :now WHERE e.id IN :ids")
+    void markSent(@Param("ids") Collection<Long> ids,
+                  @Param("status") EmailOutboxStatus status,
+                  @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = :status AND e.sentAt < :before")
+    int deleteSentBefore(@Param("status") EmailOutboxStatus status, @Param("before") LocalDateTime before);
+}
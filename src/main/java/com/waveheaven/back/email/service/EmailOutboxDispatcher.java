@@ -0,0 +1,97 @@
+package com.waveheaven.back.email.service;
+
+import com.waveheaven.back.config.AsyncConfig;
+import com.waveheaven.back.email.entity.EmailOutbox;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Polls the outbox and delivers due emails on the mail executor. Each poll is a flush
+ * of at most one claimed batch: the rows are split into SMTP batches and every batch
+ * goes out over one connection. Several instances can run at once; row locks with SKIP LOCKED keep them
+ * from claiming the same email.
+ */
+@Component
+@ConditionalOnProperty(name = "app.mail.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService emailOutboxService;
+    private final EmailService emailService;
+    private final Executor mailExecutor;
+    private final int batchSize;
+    private final int smtpBatchSize;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxService emailOutboxService,
+            EmailService emailService,
+            @Qualifier(AsyncConfig.MAIL_EXECUTOR) Executor mailExecutor,
+            @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+            @Value("${app.mail.smtp-batch-size:10}") int smtpBatchSize) {
+        this.emailOutboxService = emailOutboxService;
+        this.emailService = emailService;
+        this.mailExecutor = mailExecutor;
+        this.batchSize = batchSize;
+        this.smtpBatchSize = Math.max(1, smtpBatchSize);
+    }
+
+    // One claim per poll, so a backlog never holds a scheduler thread; the next poll continues it
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:5s}")
+    public void dispatch() {
+        List<EmailOutbox> batch = emailOutboxService.claimBatch(batchSize);
+
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += smtpBatchSize) {
+            List<EmailOutbox> chunk = batch.subList(from, Math.min(from + smtpBatchSize, batch.size()));
+            deliveries.add(CompletableFuture.runAsync(() -> deliver(chunk), mailExecutor));
+        }
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void deliver(List<EmailOutbox> chunk) {
+        Map<MimeMessage, EmailOutbox> rowsByMessage = new IdentityHashMap<>();
+        for (EmailOutbox row : chunk) {
+            try {
+                MimeMessage message = emailService.render(
+                        row.getTemplate(),
+                        row.getRecipient(),
+                        row.getSubject(),
+                        emailOutboxService.readVariables(row));
+                rowsByMessage.put(message, row);
+            } catch (Exception e) {
+                emailOutboxService.markFailed(row.getId(), e);
+            }
+        }
+
+        if (rowsByMessage.isEmpty()) {
+            return;
+        }
+
+        Map<MimeMessage, Exception> failures = emailService.sendBatch(rowsByMessage.keySet());
+
+        List<Long> sentIds = new ArrayList<>();
+        rowsByMessage.forEach((message, row) -> {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                sentIds.add(row.getId());
+            } else {
+                emailOutboxService.markFailed(row.getId(), failure);
+            }
+        });
+
+        emailOutboxService.markSent(sentIds);
+        log.info("Batch de emails enviado: {} ok, {} con error", sentIds.size(), failures.size());
+    }
+}
@@ -0,0 +1,135 @@
+package com.waveheaven.back.email.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waveheaven.back.email.entity.EmailOutbox;
+import com.waveheaven.back.email.entity.EmailOutboxStatus;
+import com.waveheaven.back.email.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Email outbox. Emails are inserted in the caller's transaction, so they exist only if
+ * the business change commits, and are delivered later by EmailOutboxDispatcher.
+ * Delivery is at-least-once: a dispatcher that dies mid-send leaves the row SENDING
+ * and it is picked up again once its lease expires.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    private static final TypeReference<Map<String, Object>> VARIABLES_TYPE = new TypeReference<>() {
+    };
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.mail.outbox.lease:2m}")
+    private Duration lease;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.retry-base-delay:30s}")
+    private Duration retryBaseDelay;
+
+    @Value("${app.mail.outbox.retry-max-delay:1h}")
+    private Duration retryMaxDelay;
+
+    @Value("${app.mail.outbox.retention:7d}")
+    private Duration retention;
+
+    @Transactional
+    public void enqueue(String dedupeKey, String recipient, String subject, String template, Map<String, Object> variables) {
+        int inserted = emailOutboxRepository.enqueue(
+                dedupeKey, template, recipient, subject, writeVariables(variables), LocalDateTime.now());
+
+        if (inserted == 0) {
+            log.debug("Email {} already queued, skipping", dedupeKey);
+        }
+    }
+
+    // Locks due rows, leases them to this dispatcher and returns them
+    @Transactional
+    public List<EmailOutbox> claimBatch(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = emailOutboxRepository.lockDueIds(now, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        emailOutboxRepository.markClaimed(ids, EmailOutboxStatus.SENDING, now.plus(lease), now);
+        return emailOutboxRepository.findAllById(ids);
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            emailOutboxRepository.markSent(ids, EmailOutboxStatus.SENT, LocalDateTime.now());
+        }
+    }
+
+    @Transactional
+    public void markFailed(Long id, Exception error) {
+        emailOutboxRepository.findById(id).ifPresent(message -> {
+            message.setLastError(error.getMessage());
+
+            if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(EmailOutboxStatus.FAILED);
+                log.error("Email {} to {} failed after {} attempts: {}",
+                        message.getDedupeKey(), message.getRecipient(), message.getAttempts(), error.getMessage());
+                return;
+            }
+
+            Duration delay = backoff(message.getAttempts());
+            message.setStatus(EmailOutboxStatus.PENDING);
+            message.setNextAttemptAt(LocalDateTime.now().plus(delay));
+            log.warn("Email {} attempt {} failed, retrying in {}s: {}",
+                    message.getDedupeKey(), message.getAttempts(), delay.toSeconds(), error.getMessage());
+        });
+    }
+
+    public Map<String, Object> readVariables(EmailOutbox message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), VARIABLES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload for email " + message.getDedupeKey(), e);
+        }
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 15 4 * * *}")
+    @Transactional
+    public void purgeSent() {
+        int deleted = emailOutboxRepository.deleteSentBefore(EmailOutboxStatus.SENT, LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} sent emails from the outbox", deleted);
+        }
+    }
+
+    // base * 2^(attempts - 1), capped
+    private Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = retryBaseDelay.multipliedBy(1L << exponent);
+        return delay.compareTo(retryMaxDelay) > 0 ? retryMaxDelay : delay;
+    }
+
+    private String writeVariables(Map<String, Object> variables) {
+        try {
+            return objectMapper.writeValueAsString(variables);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Email variables are not serializable", e);
+        }
+    }
+}
@@ -1,28 +1,42 @@
 package com.waveheaven.back.email.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.AbstractConfigurableTemplateResolver;
 
 import java.io.UnsupportedEncodingException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
+    private static final String REGISTRATION_TEMPLATE = "email/registration-confirmation";
+    private static final String RESERVATION_TEMPLATE = "email/reservation-confirmation";
+
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
+    private final EmailOutboxService emailOutboxService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.mail.from}")
     private String fromEmail;
@@ -35,52 +49,102 @@ public class EmailService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
-    @Async
-    public void sendRegistrationConfirmation(String to, String firstName, String lastName) {
-        try {
-            Context context = new Context();
-            context.setVariable("firstName", firstName);
-            context.setVariable("lastName", lastName);
-            context.setVariable("email", to);
-            context.setVariable("loginUrl", frontendUrl + "/login");
-            context.setVariable("frontendUrl", frontendUrl);
-
-            String htmlContent = templateEngine.process("email/registration-confirmation", context);
+    // Variables shared by every email (frontend links used by the buttons and the footer)
+    private Map<String, Object> staticVariables;
+
+    private final Map<String, Timer> renderTimers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        staticVariables = Map.of(
+                "frontendUrl", frontendUrl,
+                "loginUrl", frontendUrl + "/login",
+                "reservationsUrl", frontendUrl + "/my-reservations"
+        );
+
+        boolean cacheable = templateEngine.getTemplateResolvers().stream()
+                .allMatch(resolver -> !(resolver instanceof AbstractConfigurableTemplateResolver configurable)
+                        || configurable.isCacheable());
+        if (cacheable) {
+            log.info("Email templates are cached after first use");
+        } else {
+            log.warn("Thymeleaf template cache is disabled (spring.thymeleaf.cache=false); "
+                    + "every email re-reads and re-parses its template");
+        }
+    }
 
-            sendHtmlEmail(to, "¡Bienvenido a WaveHeaven!", htmlContent);
+    // Queued in the caller's transaction; delivered by EmailOutboxDispatcher after commit
+    public void sendRegistrationConfirmation(String to, String firstName, String lastName) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("firstName", firstName);
+        variables.put("lastName", lastName);
+        variables.put("email", to);
 
-            log.info("Email de confirmación de registro enviado a: {}", to);
-        } catch (Exception e) {
-            log.error("Error al enviar email de confirmación de registro a {}: {}", to, e.getMessage());
-        }
+        emailOutboxService.enqueue("registration-confirmation:" + to, to,
+                "¡Bienvenido a WaveHeaven!", REGISTRATION_TEMPLATE, variables);
     }
 
-    @Async
+    // Queued in the caller's transaction; delivered by EmailOutboxDispatcher after commit
     public void sendReservationConfirmation(String to, String userFullName, Long reservationId,
                                             String productName, String productImageUrl,
                                             LocalDate startDate, LocalDate endDate) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("userFullName", userFullName);
+        variables.put("reservationId", reservationId);
+        variables.put("productName", productName);
+        variables.put("productImageUrl", productImageUrl);
+        variables.put("startDate", startDate.format(DATE_FORMATTER));
+        variables.put("endDate", endDate.format(DATE_FORMATTER));
+
+        emailOutboxService.enqueue("reservation-confirmation:" + reservationId, to,
+                "Confirmación de Reserva - WaveHeaven", RESERVATION_TEMPLATE, variables);
+    }
+
+    /**
+     * Renders one email into a message ready to send. Render time is published as
+     * email.render, tagged by template. Variables stored in the outbox row win over the
+     * static ones, so rows queued before the static links were split out render unchanged.
+     */
+    public MimeMessage render(String template, String to, String subject, Map<String, Object> variables)
+            throws MessagingException, UnsupportedEncodingException {
+        Context context = new Context();
+        context.setVariables(staticVariables);
+        context.setVariables(variables);
+
+        String htmlContent = renderTimer(template).record(() -> templateEngine.process(template, context));
+
+        return buildHtmlEmail(to, subject, htmlContent);
+    }
+
+    /**
+     * Sends the messages over a single SMTP connection (one connect and STARTTLS
+     * handshake for the whole batch). Returns the messages that failed, with their error;
+     * an empty map means every message was accepted.
+     */
+    public Map<MimeMessage, Exception> sendBatch(Collection<MimeMessage> messages) {
+        Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
         try {
-            Context context = new Context();
-            context.setVariable("userFullName", userFullName);
-            context.setVariable("reservationId", reservationId);
-            context.setVariable("productName", productName);
-            context.setVariable("productImageUrl", productImageUrl);
-            context.setVariable("startDate", startDate.format(DATE_FORMATTER));
-            context.setVariable("endDate", endDate.format(DATE_FORMATTER));
-            context.setVariable("reservationsUrl", frontendUrl + "/my-reservations");
-            context.setVariable("frontendUrl", frontendUrl);
-
-            String htmlContent = templateEngine.process("email/reservation-confirmation", context);
-
-            sendHtmlEmail(to, "Confirmación de Reserva - WaveHeaven", htmlContent);
-
-            log.info("Email de confirmación de reserva enviado a: {} para reserva #{}", to, reservationId);
-        } catch (Exception e) {
-            log.error("Error al enviar email de confirmación de reserva a {}: {}", to, e.getMessage());
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.forEach(message -> failures.put(message, e));
+            }
+            e.getFailedMessages().forEach((message, error) -> failures.put((MimeMessage) message, error));
+        } catch (RuntimeException e) {
+            // Authentication or configuration problems fail the whole batch
+            messages.forEach(message -> failures.put(message, e));
         }
+        return failures;
+    }
+
+    private Timer renderTimer(String template) {
+        return renderTimers.computeIfAbsent(template, name -> Timer.builder("email.render")
+                .description("Time to render an email template to HTML")
+                .tag("template", name)
+                .register(meterRegistry));
     }
 
-    private void sendHtmlEmail(String to, String subject, String htmlContent) throws MessagingException, UnsupportedEncodingException {
+    private MimeMessage buildHtmlEmail(String to, String subject, String htmlContent) throws MessagingException, UnsupportedEncodingException {
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
@@ -89,6 +153,6 @@ public class EmailService {
         helper.setSubject(subject);
         helper.setText(htmlContent, true);
 
-        mailSender.send(message);
+        return message;
     }
 }
@@ -1,5 +1,6 @@
 package com.waveheaven.back.favorites.controller;
 
+import com.waveheaven.back.auth.security.AuthenticatedUser;
 import com.waveheaven.back.favorites.dto.FavoriteResponse;
 import com.waveheaven.back.favorites.service.FavoriteService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,7 +9,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,8 +26,8 @@ public class FavoriteController {
     @Operation(summary = "Add product to favorites")
     public ResponseEntity<FavoriteResponse> addFavorite(
             @PathVariable Long productId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        FavoriteResponse response = favoriteService.addFavorite(productId, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        FavoriteResponse response = favoriteService.addFavorite(productId, currentUser);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -35,31 +35,31 @@ public class FavoriteController {
     @Operation(summary = "Remove product from favorites")
     public ResponseEntity<Void> removeFavorite(
             @PathVariable Long productId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        favoriteService.removeFavorite(productId, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        favoriteService.removeFavorite(productId, currentUser);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping
     @Operation(summary = "Get all user favorites")
     public ResponseEntity<List<FavoriteResponse>> getUserFavorites(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(favoriteService.getUserFavorites(userDetails.getUsername()));
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(favoriteService.getUserFavorites(currentUser));
     }
 
     @GetMapping("/{productId}/check")
     @Operation(summary = "Check if product is in favorites")
     public ResponseEntity<Map<String, Boolean>> isFavorite(
             @PathVariable Long productId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        boolean isFav = favoriteService.isFavorite(productId, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        boolean isFav = favoriteService.isFavorite(productId, currentUser);
         return ResponseEntity.ok(Map.of("isFavorite", isFav));
     }
 
     @GetMapping("/ids")
     @Operation(summary = "Get all favorite product IDs for current user")
     public ResponseEntity<List<Long>> getFavoriteProductIds(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(favoriteService.getUserFavoriteProductIds(userDetails.getUsername()));
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(favoriteService.getUserFavoriteProductIds(currentUser));
     }
 }
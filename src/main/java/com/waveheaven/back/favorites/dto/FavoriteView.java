@@ -0,0 +1,10 @@
+package com.waveheaven.back.favorites.dto;
+
+import java.time.LocalDateTime;
+
+public record FavoriteView(
+        Long id,
+        Long productId,
+        LocalDateTime createdAt
+) {
+}
@@ -1,5 +1,6 @@
 package com.waveheaven.back.favorites.repository;
 
+import com.waveheaven.back.favorites.dto.FavoriteView;
 import com.waveheaven.back.favorites.entity.Favorite;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -20,13 +21,12 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     // Find favorite by user and product
     Optional<Favorite> findByUserIdAndProductId(Long userId, Long productId);
 
-    // Get all favorites for a user
-    @Query("SELECT f FROM Favorite f " +
-           "JOIN FETCH f.product p " +
-           "LEFT JOIN FETCH p.images " +
+    // Get all favorites for a user (read-only rows, products are loaded separately)
+    @Query("SELECT new com.waveheaven.back.favorites.dto.FavoriteView(f.id, f.product.id, f.createdAt) " +
+           "FROM Favorite f " +
            "WHERE f.user.id = :userId " +
            "ORDER BY f.createdAt DESC")
-    List<Favorite> findByUserIdWithProductAndImages(@Param("userId") Long userId);
+    List<FavoriteView> findViewsByUserId(@Param("userId") Long userId);
 
     // Get favorites with pagination
     @Query("SELECT f FROM Favorite f " +
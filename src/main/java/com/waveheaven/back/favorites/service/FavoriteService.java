@@ -1,13 +1,16 @@
 package com.waveheaven.back.favorites.service;
 
-import com.waveheaven.back.auth.entity.User;
 import com.waveheaven.back.auth.repository.UserRepository;
+import com.waveheaven.back.auth.security.AuthenticatedUser;
 import com.waveheaven.back.favorites.dto.FavoriteResponse;
+import com.waveheaven.back.favorites.dto.FavoriteView;
 import com.waveheaven.back.favorites.entity.Favorite;
 import com.waveheaven.back.favorites.repository.FavoriteRepository;
+import com.waveheaven.back.products.dto.ProductResponse;
 import com.waveheaven.back.products.entity.Product;
 import com.waveheaven.back.products.mapper.ProductMapper;
 import com.waveheaven.back.products.repository.ProductRepository;
+import com.waveheaven.back.products.service.ProductReadService;
 import com.waveheaven.back.shared.exception.ConflictException;
 import com.waveheaven.back.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +19,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,70 +32,65 @@ public class FavoriteService {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductReadService productReadService;
 
     @Transactional
-    public FavoriteResponse addFavorite(Long productId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
+    public FavoriteResponse addFavorite(Long productId, AuthenticatedUser currentUser) {
         Product product = productRepository.findByIdWithImages(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
 
         // Check if already favorited
-        if (favoriteRepository.existsByUserIdAndProductId(user.getId(), productId)) {
+        if (favoriteRepository.existsByUserIdAndProductId(currentUser.getId(), productId)) {
             throw new ConflictException("Product is already in favorites");
         }
 
         Favorite favorite = Favorite.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(currentUser.getId()))
                 .product(product)
                 .build();
 
         favorite = favoriteRepository.save(favorite);
-        log.info("Product {} added to favorites by user {}", productId, userEmail);
+        log.info("Product {} added to favorites by user {}", productId, currentUser.getEmail());
 
         return toResponse(favorite);
     }
 
     @Transactional
-    public void removeFavorite(Long productId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        if (!favoriteRepository.existsByUserIdAndProductId(user.getId(), productId)) {
+    public void removeFavorite(Long productId, AuthenticatedUser currentUser) {
+        if (!favoriteRepository.existsByUserIdAndProductId(currentUser.getId(), productId)) {
             throw new ResourceNotFoundException("Product is not in favorites");
         }
 
-        favoriteRepository.deleteByUserIdAndProductId(user.getId(), productId);
-        log.info("Product {} removed from favorites by user {}", productId, userEmail);
+        favoriteRepository.deleteByUserIdAndProductId(currentUser.getId(), productId);
+        log.info("Product {} removed from favorites by user {}", productId, currentUser.getEmail());
     }
 
     @Transactional(readOnly = true)
-    public List<FavoriteResponse> getUserFavorites(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public List<FavoriteResponse> getUserFavorites(AuthenticatedUser currentUser) {
+        List<FavoriteView> favorites = favoriteRepository.findViewsByUserId(currentUser.getId());
 
-        List<Favorite> favorites = favoriteRepository.findByUserIdWithProductAndImages(user.getId());
+        Map<Long, ProductResponse> productsById = productReadService.findResponsesByIds(
+                        favorites.stream().map(FavoriteView::productId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(ProductResponse::getId, Function.identity()));
 
         return favorites.stream()
-                .map(this::toResponse)
+                .map(favorite -> FavoriteResponse.builder()
+                        .id(favorite.id())
+                        .product(productsById.get(favorite.productId()))
+                        .createdAt(favorite.createdAt())
+                        .build())
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public boolean isFavorite(Long productId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        return favoriteRepository.existsByUserIdAndProductId(user.getId(), productId);
+    public boolean isFavorite(Long productId, AuthenticatedUser currentUser) {
+        return favoriteRepository.existsByUserIdAndProductId(currentUser.getId(), productId);
     }
 
     @Transactional(readOnly = true)
-    public List<Long> getUserFavoriteProductIds(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        return favoriteRepository.findProductIdsByUserId(user.getId());
+    public List<Long> getUserFavoriteProductIds(AuthenticatedUser currentUser) {
+        return favoriteRepository.findProductIdsByUserId(currentUser.getId());
     }
 
     private FavoriteResponse toResponse(Favorite favorite) {
@@ -1,8 +1,12 @@
 package com.waveheaven.back.products.controller;
 
 import com.waveheaven.back.products.dto.CreateProductRequest;
+import com.waveheaven.back.products.dto.ProductCardResponse;
+import com.waveheaven.back.products.dto.ProductCursorPage;
 import com.waveheaven.back.products.dto.ProductResponse;
+import com.waveheaven.back.products.dto.ProductSuggestionResponse;
 import com.waveheaven.back.products.dto.UpdateProductRequest;
+import com.waveheaven.back.products.service.ProductCardService;
 import com.waveheaven.back.products.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,6 +30,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductCardService productCardService;
 
     @PostMapping
     @Operation(summary = "Create a new product", description = "Creates a new product with images (Admin only)")
@@ -53,6 +58,24 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll products", description = "Retrieves products with keyset pagination using an opaque cursor")
+    public ResponseEntity<ProductCursorPage> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("GET /api/products/scroll - Scrolling products");
+        ProductCursorPage response = productService.scrollProducts(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Autocomplete products", description = "Typeahead suggestions from product names, categories and characteristics")
+    public ResponseEntity<List<ProductSuggestionResponse>> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(productService.suggest(query, limit));
+    }
+
     @GetMapping("/random")
     @Operation(summary = "Get random products", description = "Retrieves random products for homepage (max 10)")
     public ResponseEntity<List<ProductResponse>> getRandomProducts(
@@ -105,4 +128,19 @@ public class ProductController {
                 name, categoryId, startDate, endDate, page, size);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/cards")
+    @Operation(summary = "Search product cards", description = "Lightweight catalog grid rows (name, first image, category, rating) filtered by name, category and availability dates")
+    public ResponseEntity<Page<ProductCardResponse>> searchCards(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("GET /api/products/cards - Searching product cards");
+        Page<ProductCardResponse> response = productCardService.searchCards(
+                name, categoryId, startDate, endDate, page, size);
+        return ResponseEntity.ok(response);
+    }
 }
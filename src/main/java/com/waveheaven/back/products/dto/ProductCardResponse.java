@@ -0,0 +1,21 @@
+package com.waveheaven.back.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductCardResponse {
+
+    private Long productId;
+    private String name;
+    private String imageUrl;
+    private Long categoryId;
+    private String categoryTitle;
+    private Double averageRating;
+    private Long reviewCount;
+}
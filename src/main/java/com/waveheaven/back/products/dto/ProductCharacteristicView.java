@@ -0,0 +1,13 @@
+package com.waveheaven.back.products.dto;
+
+import java.time.LocalDateTime;
+
+public record ProductCharacteristicView(
+        Long productId,
+        Long id,
+        String name,
+        String iconUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
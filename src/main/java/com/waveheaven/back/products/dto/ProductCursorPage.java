@@ -0,0 +1,20 @@
+package com.waveheaven.back.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductCursorPage {
+
+    private List<ProductResponse> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
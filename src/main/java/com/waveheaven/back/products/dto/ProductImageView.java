@@ -0,0 +1,8 @@
+package com.waveheaven.back.products.dto;
+
+public record ProductImageView(
+        Long productId,
+        Long id,
+        String url
+) {
+}
@@ -0,0 +1,8 @@
+package com.waveheaven.back.products.dto;
+
+public interface ProductNameView {
+
+    Long getId();
+
+    String getName();
+}
@@ -0,0 +1,9 @@
+package com.waveheaven.back.products.dto;
+
+public record ProductPolicyView(
+        Long productId,
+        Long id,
+        String title,
+        String description
+) {
+}
@@ -0,0 +1,23 @@
+package com.waveheaven.back.products.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSuggestionResponse {
+
+    public enum Type {
+        PRODUCT,
+        CATEGORY,
+        CHARACTERISTIC
+    }
+
+    private Type type;
+    private Long id;
+    private String label;
+}
@@ -0,0 +1,14 @@
+package com.waveheaven.back.products.dto;
+
+import java.time.LocalDateTime;
+
+public record ProductSummaryView(
+        Long id,
+        String name,
+        String description,
+        Long categoryId,
+        String categoryTitle,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
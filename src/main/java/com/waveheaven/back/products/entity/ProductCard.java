@@ -0,0 +1,49 @@
+package com.waveheaven.back.products.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of the denormalized product_card table. It is written with SQL upserts
+ * by ProductCardService whenever a product, its images, its category or its reviews change.
+ */
+@Entity
+@Table(name = "product_card")
+@Immutable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductCard {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "first_image_url", columnDefinition = "TEXT")
+    private String firstImageUrl;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "category_title", length = 100)
+    private String categoryTitle;
+
+    @Column(name = "average_rating", nullable = false)
+    private Double averageRating;
+
+    @Column(name = "review_count", nullable = false)
+    private Long reviewCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -5,9 +5,15 @@ import com.waveheaven.back.characteristics.entity.Characteristic;
 import com.waveheaven.back.products.dto.CreateProductRequest;
 import com.waveheaven.back.products.dto.ImageDTO;
 import com.waveheaven.back.products.dto.PolicyDTO;
+import com.waveheaven.back.products.dto.ProductCardResponse;
+import com.waveheaven.back.products.dto.ProductCharacteristicView;
+import com.waveheaven.back.products.dto.ProductImageView;
+import com.waveheaven.back.products.dto.ProductPolicyView;
 import com.waveheaven.back.products.dto.ProductResponse;
+import com.waveheaven.back.products.dto.ProductSummaryView;
 import com.waveheaven.back.products.entity.Image;
 import com.waveheaven.back.products.entity.Policy;
+import com.waveheaven.back.products.entity.ProductCard;
 import com.waveheaven.back.products.entity.Product;
 import org.springframework.stereotype.Component;
 
@@ -70,6 +76,43 @@ public class ProductMapper {
                 .build();
     }
 
+    public ProductResponse toResponse(ProductSummaryView summary,
+                                      List<ProductImageView> images,
+                                      List<ProductCharacteristicView> characteristics,
+                                      List<ProductPolicyView> policies) {
+        return ProductResponse.builder()
+                .id(summary.id())
+                .name(summary.name())
+                .description(summary.description())
+                .categoryId(summary.categoryId())
+                .categoryTitle(summary.categoryTitle())
+                .characteristics(characteristics.stream()
+                        .map(view -> CharacteristicResponse.builder()
+                                .id(view.id())
+                                .name(view.name())
+                                .iconUrl(view.iconUrl())
+                                .createdAt(view.createdAt())
+                                .updatedAt(view.updatedAt())
+                                .build())
+                        .collect(Collectors.toList()))
+                .images(images.stream()
+                        .map(view -> ImageDTO.builder()
+                                .id(view.id())
+                                .url(view.url())
+                                .build())
+                        .collect(Collectors.toList()))
+                .policies(policies.stream()
+                        .map(view -> PolicyDTO.builder()
+                                .id(view.id())
+                                .title(view.title())
+                                .description(view.description())
+                                .build())
+                        .collect(Collectors.toList()))
+                .createdAt(summary.createdAt())
+                .updatedAt(summary.updatedAt())
+                .build();
+    }
+
     private PolicyDTO toPolicyDTO(Policy policy) {
         return PolicyDTO.builder()
                 .id(policy.getId())
@@ -100,4 +143,16 @@ public class ProductMapper {
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    public ProductCardResponse toCardResponse(ProductCard card) {
+        return ProductCardResponse.builder()
+                .productId(card.getProductId())
+                .name(card.getName())
+                .imageUrl(card.getFirstImageUrl())
+                .categoryId(card.getCategoryId())
+                .categoryTitle(card.getCategoryTitle())
+                .averageRating(card.getAverageRating())
+                .reviewCount(card.getReviewCount())
+                .build();
+    }
+}
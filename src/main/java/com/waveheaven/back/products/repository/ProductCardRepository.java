@@ -0,0 +1,65 @@
+package com.waveheaven.back.products.repository;
+
+import com.waveheaven.back.products.entity.ProductCard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductCardRepository extends JpaRepository<ProductCard, Long>, JpaSpecificationExecutor<ProductCard> {
+
+    // Row lock on the card, taken before recomputing it; see ProductCardService
+    @Query(value = "SELECT product_id FROM product_card WHERE product_id = :productId FOR UPDATE", nativeQuery = true)
+    List<Long> lockCard(@Param("productId") Long productId);
+
+    // Recompute one card from the source tables (insert or update)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO product_card (product_id, name, first_image_url, category_id, category_title, " +
+                   "average_rating, review_count, created_at, updated_at) " +
+                   "SELECT p.id, p.name, " +
+                   "(SELECT i.url FROM images i WHERE i.product_id = p.id ORDER BY i.id LIMIT 1), " +
+                   "p.category_id, c.title, " +
+                   "COALESCE((SELECT ROUND(AVG(r.rating), 1) FROM reviews r WHERE r.product_id = p.id), 0), " +
+                   "(SELECT COUNT(*) FROM reviews r WHERE r.product_id = p.id), " +
+                   "p.created_at, CURRENT_TIMESTAMP " +
+                   "FROM products p LEFT JOIN categories c ON c.id = p.category_id " +
+                   "WHERE p.id = :productId " +
+                   "ON CONFLICT (product_id) DO UPDATE SET " +
+                   "name = EXCLUDED.name, " +
+                   "first_image_url = EXCLUDED.first_image_url, " +
+                   "category_id = EXCLUDED.category_id, " +
+                   "category_title = EXCLUDED.category_title, " +
+                   "average_rating = EXCLUDED.average_rating, " +
+                   "review_count = EXCLUDED.review_count, " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    void refresh(@Param("productId") Long productId);
+
+    // Recompute only the rating columns after a review change
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE product_card SET " +
+                   "average_rating = COALESCE((SELECT ROUND(AVG(r.rating), 1) FROM reviews r WHERE r.product_id = :productId), 0), " +
+                   "review_count = (SELECT COUNT(*) FROM reviews r WHERE r.product_id = :productId), " +
+                   "updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE product_id = :productId",
+           nativeQuery = true)
+    void refreshRating(@Param("productId") Long productId);
+
+    // Native like the statements above: ProductCard is @Immutable, so JPQL bulk updates on it are flagged by Hibernate
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE product_card SET category_title = :title, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE category_id = :categoryId",
+           nativeQuery = true)
+    void updateCategoryTitle(@Param("categoryId") Long categoryId, @Param("title") String title);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE product_card SET category_id = NULL, category_title = NULL, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE category_id = :categoryId",
+           nativeQuery = true)
+    void clearCategory(@Param("categoryId") Long categoryId);
+}
@@ -1,5 +1,10 @@
 package com.waveheaven.back.products.repository;
 
+import com.waveheaven.back.products.dto.ProductCharacteristicView;
+import com.waveheaven.back.products.dto.ProductImageView;
+import com.waveheaven.back.products.dto.ProductNameView;
+import com.waveheaven.back.products.dto.ProductPolicyView;
+import com.waveheaven.back.products.dto.ProductSummaryView;
 import com.waveheaven.back.products.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,9 +13,15 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Paged reads are two-phase: the "...Ids" queries page product ids in SQL, then the
+ * "...ViewsByProductIdIn" projections load just that page as DTO rows, without
+ * managed entities. Fetch joins are never combined with a Pageable.
+ */
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
@@ -18,72 +29,132 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     boolean existsByName(String name);
 
-    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.images")
-    Page<Product> findAllWithImages(Pageable pageable);
+    @Query("SELECT p.id FROM Product p ORDER BY p.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT p.id AS id, p.name AS name FROM Product p")
+    List<ProductNameView> findAllNames();
 
     @Query("SELECT p FROM Product p LEFT JOIN FETCH p.images WHERE p.id = :id")
     Optional<Product> findByIdWithImages(Long id);
 
-    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images WHERE p.category.id = :categoryId")
-    Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
-
     @Query("SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId")
     long countByCategoryId(Long categoryId);
 
-    // Search by name (case-insensitive)
-    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images " +
-           "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    Page<Product> searchByName(@Param("name") String name, Pageable pageable);
+    // Phase two: read-only projections for a page of products
+    @Query("SELECT new com.waveheaven.back.products.dto.ProductSummaryView(" +
+           "p.id, p.name, p.description, c.id, c.title, p.createdAt, p.updatedAt) " +
+           "FROM Product p LEFT JOIN p.category c " +
+           "WHERE p.id IN :ids")
+    List<ProductSummaryView> findSummaryViewsByProductIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.waveheaven.back.products.dto.ProductImageView(i.product.id, i.id, i.url) " +
+           "FROM Image i " +
+           "WHERE i.product.id IN :ids " +
+           "ORDER BY i.id")
+    List<ProductImageView> findImageViewsByProductIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.waveheaven.back.products.dto.ProductPolicyView(pol.product.id, pol.id, pol.title, pol.description) " +
+           "FROM Policy pol " +
+           "WHERE pol.product.id IN :ids " +
+           "ORDER BY pol.id")
+    List<ProductPolicyView> findPolicyViewsByProductIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.waveheaven.back.products.dto.ProductCharacteristicView(" +
+           "p.id, ch.id, ch.name, ch.iconUrl, ch.createdAt, ch.updatedAt) " +
+           "FROM Product p JOIN p.characteristics ch " +
+           "WHERE p.id IN :ids")
+    List<ProductCharacteristicView> findCharacteristicViewsByProductIdIn(@Param("ids") Collection<Long> ids);
+
+    // All product ids, paged
+    @Query("SELECT p.id FROM Product p")
+    Page<Long> findIds(Pageable pageable);
+
+    // Keyset pagination: next product ids after the given id
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 
-    // Search by name and category
-    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images " +
-           "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
-           "AND p.category.id = :categoryId")
-    Page<Product> searchByNameAndCategory(
+    // Search by category only
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId")
+    Page<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    // Full-text search on name and description (prefix tsquery, ranked), plus substring match on name
+    @Query(value = "SELECT p.id FROM products p " +
+                   "WHERE (p.search_vector @@ to_tsquery('simple', :query) " +
+                   "OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+                   "ORDER BY ts_rank(p.search_vector, to_tsquery('simple', :query)) DESC, p.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM products p " +
+                        "WHERE (p.search_vector @@ to_tsquery('simple', :query) " +
+                        "OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')))",
+           nativeQuery = true)
+    Page<Long> searchIdsByName(
             @Param("name") String name,
+            @Param("query") String query,
+            Pageable pageable);
+
+    // Full-text search with category filter
+    @Query(value = "SELECT p.id FROM products p " +
+                   "WHERE (p.search_vector @@ to_tsquery('simple', :query) " +
+                   "OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+                   "AND p.category_id = :categoryId " +
+                   "ORDER BY ts_rank(p.search_vector, to_tsquery('simple', :query)) DESC, p.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM products p " +
+                        "WHERE (p.search_vector @@ to_tsquery('simple', :query) " +
+                        "OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+                        "AND p.category_id = :categoryId",
+           nativeQuery = true)
+    Page<Long> searchIdsByNameAndCategory(
+            @Param("name") String name,
+            @Param("query") String query,
             @Param("categoryId") Long categoryId,
             Pageable pageable);
 
-    // Search by category only
-    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images " +
-           "WHERE p.category.id = :categoryId")
-    Page<Product> searchByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
-
-    // Find all products with images (for filtering by availability)
-    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images " +
-           "WHERE p.id IN :productIds")
-    Page<Product> findByIdIn(@Param("productIds") List<Long> productIds, Pageable pageable);
-
-    // Find all products not in the given IDs (products with reservations)
-    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images " +
-           "WHERE p.id NOT IN :excludedIds")
-    Page<Product> findByIdNotIn(@Param("excludedIds") List<Long> excludedIds, Pageable pageable);
-
-    // Combined search with name filter and excluded IDs
-    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images " +
-           "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
-           "AND p.id NOT IN :excludedIds")
-    Page<Product> searchByNameExcludingIds(
+    // Find all product ids not in the given IDs (products with reservations)
+    @Query("SELECT p.id FROM Product p WHERE p.id NOT IN :excludedIds")
+    Page<Long> findIdsByIdNotIn(@Param("excludedIds") List<Long> excludedIds, Pageable pageable);
+
+    // Full-text search with excluded IDs
+    @Query(value = "SELECT p.id FROM products p " +
+                   "WHERE (p.search_vector @@ to_tsquery('simple', :query) " +
+                   "OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+                   "AND p.id NOT IN (:excludedIds) " +
+                   "ORDER BY ts_rank(p.search_vector, to_tsquery('simple', :query)) DESC, p.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM products p " +
+                        "WHERE (p.search_vector @@ to_tsquery('simple', :query) " +
+                        "OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+                        "AND p.id NOT IN (:excludedIds)",
+           nativeQuery = true)
+    Page<Long> searchIdsByNameExcludingIds(
             @Param("name") String name,
+            @Param("query") String query,
             @Param("excludedIds") List<Long> excludedIds,
             Pageable pageable);
 
     // Combined search with category filter and excluded IDs
-    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images " +
+    @Query("SELECT p.id FROM Product p " +
            "WHERE p.category.id = :categoryId " +
            "AND p.id NOT IN :excludedIds")
-    Page<Product> searchByCategoryExcludingIds(
+    Page<Long> searchIdsByCategoryExcludingIds(
             @Param("categoryId") Long categoryId,
             @Param("excludedIds") List<Long> excludedIds,
             Pageable pageable);
 
-    // Combined search with name, category and excluded IDs
-    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images " +
-           "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
-           "AND p.category.id = :categoryId " +
-           "AND p.id NOT IN :excludedIds")
-    Page<Product> searchByNameAndCategoryExcludingIds(
+    // Full-text search with category filter and excluded IDs
+    @Query(value = "SELECT p.id FROM products p " +
+                   "WHERE (p.search_vector @@ to_tsquery('simple', :query) " +
+                   "OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+                   "AND p.category_id = :categoryId " +
+                   "AND p.id NOT IN (:excludedIds) " +
+                   "ORDER BY ts_rank(p.search_vector, to_tsquery('simple', :query)) DESC, p.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM products p " +
+                        "WHERE (p.search_vector @@ to_tsquery('simple', :query) " +
+                        "OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+                        "AND p.category_id = :categoryId " +
+                        "AND p.id NOT IN (:excludedIds)",
+           nativeQuery = true)
+    Page<Long> searchIdsByNameAndCategoryExcludingIds(
             @Param("name") String name,
+            @Param("query") String query,
             @Param("categoryId") Long categoryId,
             @Param("excludedIds") List<Long> excludedIds,
             Pageable pageable);
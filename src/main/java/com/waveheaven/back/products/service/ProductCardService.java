@@ -0,0 +1,112 @@
+package com.waveheaven.back.products.service;
+
+import com.waveheaven.back.products.dto.ProductCardResponse;
+import com.waveheaven.back.products.entity.ProductCard;
+import com.waveheaven.back.products.mapper.ProductMapper;
+import com.waveheaven.back.products.repository.ProductCardRepository;
+import com.waveheaven.back.reservations.service.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Maintains the product_card read table and serves catalog grids from it. Every write
+ * path that changes a card column (product, images, category, reviews) calls in here
+ * inside its own transaction, so the card commits or rolls back with the source rows.
+ *
+ * Ratings are recomputed with AVG/COUNT subqueries, and under READ COMMITTED each
+ * statement only sees rows committed when it starts. The card row is therefore locked
+ * first: a second writer for the same product waits for the first to commit, and its
+ * recompute then sees both reviews instead of overwriting the card with a stale count.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCardService {
+
+    private final ProductCardRepository productCardRepository;
+    private final AvailabilityService availabilityService;
+    private final ProductMapper productMapper;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Transactional
+    public void refresh(Long productId) {
+        productCardRepository.lockCard(productId);
+        productCardRepository.refresh(productId);
+    }
+
+    @Transactional
+    public void refreshRating(Long productId) {
+        productCardRepository.lockCard(productId);
+        productCardRepository.refreshRating(productId);
+    }
+
+    @Transactional
+    public void categoryRenamed(Long categoryId, String title) {
+        productCardRepository.updateCategoryTitle(categoryId, title);
+    }
+
+    @Transactional
+    public void categoryDeleted(Long categoryId) {
+        productCardRepository.clearCategory(categoryId);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductCardResponse> searchCards(
+            String name,
+            Long categoryId,
+            LocalDate startDate,
+            LocalDate endDate,
+            int page,
+            int size) {
+
+        log.info("Searching product cards - name: {}, categoryId: {}, startDate: {}, endDate: {}, page: {}, size: {}",
+                name, categoryId, startDate, endDate, page, size);
+
+        Specification<ProductCard> spec = Specification.where(null);
+
+        if (name != null && !name.trim().isEmpty()) {
+            spec = spec.and(nameContains(name.trim()));
+        }
+
+        if (categoryId != null) {
+            spec = spec.and(inCategory(categoryId));
+        }
+
+        if (startDate != null && endDate != null) {
+            List<Long> unavailableProductIds = availabilityService.getUnavailableProductIds(startDate, endDate);
+            if (!unavailableProductIds.isEmpty()) {
+                spec = spec.and(excluding(unavailableProductIds));
+            }
+        }
+
+        Pageable pageable = PageRequest.of(page, Math.max(1, Math.min(size, MAX_PAGE_SIZE)),
+                Sort.by("createdAt").descending());
+
+        return productCardRepository.findAll(spec, pageable).map(productMapper::toCardResponse);
+    }
+
+    // LOWER(name) LIKE '%...%' is served by idx_product_card_name_trgm
+    private static Specification<ProductCard> nameContains(String name) {
+        String pattern = "%" + name.toLowerCase() + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern);
+    }
+
+    private static Specification<ProductCard> inCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("categoryId"), categoryId);
+    }
+
+    private static Specification<ProductCard> excluding(List<Long> productIds) {
+        return (root, query, cb) -> cb.not(root.get("productId").in(productIds));
+    }
+}
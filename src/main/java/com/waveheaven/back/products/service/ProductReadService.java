@@ -0,0 +1,64 @@
+package com.waveheaven.back.products.service;
+
+import com.waveheaven.back.products.dto.ProductCharacteristicView;
+import com.waveheaven.back.products.dto.ProductImageView;
+import com.waveheaven.back.products.dto.ProductPolicyView;
+import com.waveheaven.back.products.dto.ProductResponse;
+import com.waveheaven.back.products.dto.ProductSummaryView;
+import com.waveheaven.back.products.mapper.ProductMapper;
+import com.waveheaven.back.products.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds ProductResponse objects straight from projection rows. Nothing is attached
+ * to the persistence context, so reads skip entity hydration and dirty-checking snapshots.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductReadService {
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+
+    // Four queries per call regardless of how many ids are given; keeps the order of the ids
+    @Transactional(readOnly = true)
+    public List<ProductResponse> findResponsesByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, ProductSummaryView> summaries = productRepository.findSummaryViewsByProductIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductSummaryView::id, Function.identity()));
+        Map<Long, List<ProductImageView>> images = productRepository.findImageViewsByProductIdIn(ids).stream()
+                .collect(Collectors.groupingBy(ProductImageView::productId));
+        Map<Long, List<ProductCharacteristicView>> characteristics = productRepository.findCharacteristicViewsByProductIdIn(ids).stream()
+                .collect(Collectors.groupingBy(ProductCharacteristicView::productId));
+        Map<Long, List<ProductPolicyView>> policies = productRepository.findPolicyViewsByProductIdIn(ids).stream()
+                .collect(Collectors.groupingBy(ProductPolicyView::productId));
+
+        return ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .map(summary -> productMapper.toResponse(
+                        summary,
+                        images.getOrDefault(summary.id(), Collections.emptyList()),
+                        characteristics.getOrDefault(summary.id(), Collections.emptyList()),
+                        policies.getOrDefault(summary.id(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ProductResponse> findResponseById(Long id) {
+        return findResponsesByIds(List.of(id)).stream().findFirst();
+    }
+}
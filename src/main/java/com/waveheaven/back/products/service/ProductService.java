@@ -5,21 +5,22 @@ import com.waveheaven.back.categories.repository.CategoryRepository;
 import com.waveheaven.back.characteristics.entity.Characteristic;
 import com.waveheaven.back.characteristics.repository.CharacteristicRepository;
 import com.waveheaven.back.products.dto.CreateProductRequest;
+import com.waveheaven.back.products.dto.ProductCursorPage;
 import com.waveheaven.back.products.dto.ProductResponse;
+import com.waveheaven.back.products.dto.ProductSuggestionResponse;
 import com.waveheaven.back.products.dto.UpdateProductRequest;
 import com.waveheaven.back.products.entity.Image;
 import com.waveheaven.back.products.entity.Policy;
 import com.waveheaven.back.products.entity.Product;
 import com.waveheaven.back.products.mapper.ProductMapper;
 import com.waveheaven.back.products.repository.ProductRepository;
-import com.waveheaven.back.reservations.entity.ReservationStatus;
-import com.waveheaven.back.reservations.repository.ReservationRepository;
+import com.waveheaven.back.reservations.service.AvailabilityService;
 import com.waveheaven.back.shared.exception.ConflictException;
 import com.waveheaven.back.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl; // Importante: Nuevo import
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -27,10 +28,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList; // Importante: Nuevo import
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,14 +41,15 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final CharacteristicRepository characteristicRepository;
-    private final ReservationRepository reservationRepository;
+    private final AvailabilityService availabilityService;
     private final ProductMapper productMapper;
-    private final Random random = new Random();
+    private final ProductReadService productReadService;
+    private final RandomProductSampler randomProductSampler;
+    private final ProductSuggestionIndex suggestionIndex;
+    private final ProductCardService productCardService;
 
-    private static final List<ReservationStatus> BLOCKING_STATUSES = List.of(
-            ReservationStatus.PENDING,
-            ReservationStatus.CONFIRMED
-    );
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
 
     @Transactional
     public ProductResponse createProduct(CreateProductRequest request) {
@@ -83,6 +84,9 @@ public class ProductService {
         }
 
         Product savedProduct = productRepository.save(product);
+        productCardService.refresh(savedProduct.getId());
+        randomProductSampler.productCreated(savedProduct.getId());
+        suggestionIndex.indexProduct(savedProduct.getId(), savedProduct.getName());
 
         log.info("Product created successfully with ID: {}", savedProduct.getId());
         return productMapper.toResponse(savedProduct);
@@ -92,93 +96,53 @@ public class ProductService {
     public ProductResponse getProductById(Long id) {
         log.info("Fetching product with ID: {}", id);
 
-        Product product = productRepository.findByIdWithImages(id)
+        return productReadService.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
-
-        return productMapper.toResponse(product);
     }
 
-    // --- MÉTODO MODIFICADO PARA MOSTRAR SIEMPRE 40 PRODUCTOS ---
     @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(int page, int size) {
-        log.info("Fetching all products (inflated to 40) - page: {}, size: {}", page, size);
-
-        // 1. Obtener todos los productos reales ordenados por ID
-        List<Product> realProducts = productRepository.findAll(Sort.by("id").ascending());
+        log.info("Fetching all products - page: {}, size: {}", page, size);
 
-        // Convertirlos a DTO
-        List<ProductResponse> realDtos = realProducts.stream()
-                .map(productMapper::toResponse)
-                .collect(Collectors.toList());
-
-        // Si no hay productos reales, retornamos vacío (necesitas al menos 1 para clonar)
-        if (realDtos.isEmpty()) {
-            return Page.empty();
-        }
+        Pageable pageable = PageRequest.of(page, clampPageSize(size), Sort.by("id").ascending());
+        Page<Long> idPage = productRepository.findIds(pageable);
 
-        // 2. Crear una lista nueva e inflarla hasta 40 items
-        List<ProductResponse> allProducts = new ArrayList<>(realDtos);
-        
-        long fakeId = 10000L; // ID inicial alto para las copias (evita colisión con reales)
-
-        while (allProducts.size() < 40) {
-            // Recorremos los originales y vamos creando copias
-            for (ProductResponse original : realDtos) {
-                if (allProducts.size() >= 40) break;
-
-                // Creamos un clon con un ID falso
-                ProductResponse copy = ProductResponse.builder()
-                        .id(fakeId++) // ID Falso único
-                        .name(original.getName()) 
-                        .description(original.getDescription())
-                        .categoryId(original.getCategoryId())
-                        .categoryTitle(original.getCategoryTitle())
-                        .characteristics(original.getCharacteristics())
-                        .images(original.getImages())
-                        .policies(original.getPolicies())
-                        .createdAt(original.getCreatedAt())
-                        .updatedAt(original.getUpdatedAt())
-                        .build();
+        return toResponsePage(idPage);
+    }
 
-                allProducts.add(copy);
-            }
+    @Transactional(readOnly = true)
+    public ProductCursorPage scrollProducts(String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        long afterId = ProductCursor.decode(cursor);
+        log.info("Scrolling products after ID: {}, size: {}", afterId, pageSize);
+
+        // Fetch one extra row to know whether another page exists
+        List<Long> ids = productRepository.findIdsAfter(afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = ids.size() > pageSize;
+        if (hasNext) {
+            ids = ids.subList(0, pageSize);
         }
 
-        // 3. Paginación Manual sobre la lista de 40 items
-        int start = page * size;
-        int end = Math.min((start + size), allProducts.size());
-        
-        List<ProductResponse> pageContent;
-        if (start >= allProducts.size()) {
-            pageContent = Collections.emptyList();
-        } else {
-            pageContent = allProducts.subList(start, end);
-        }
+        String nextCursor = hasNext ? ProductCursor.encode(ids.get(ids.size() - 1)) : null;
 
-        // Retornamos la página construida manualmente
-        return new PageImpl<>(pageContent, PageRequest.of(page, size), allProducts.size());
+        return ProductCursorPage.builder()
+                .content(productReadService.findResponsesByIds(ids))
+                .size(ids.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
-    // -----------------------------------------------------------
 
     @Transactional(readOnly = true)
     public List<ProductResponse> getRandomProducts(int count) {
         log.info("Fetching {} random products", count);
 
-        List<Product> allProducts = productRepository.findAll();
-
-        if (allProducts.isEmpty()) {
+        List<Long> sampledIds = randomProductSampler.sample(Math.min(count, 10));
+        if (sampledIds.isEmpty()) {
             return Collections.emptyList();
         }
 
-        int maxCount = Math.min(count, 10);
-        maxCount = Math.min(maxCount, allProducts.size());
-
-        Collections.shuffle(allProducts, random);
-        List<Product> randomProducts = allProducts.stream()
-                .limit(maxCount)
-                .collect(Collectors.toList());
-
-        return productMapper.toResponseList(randomProducts);
+        return productReadService.findResponsesByIds(sampledIds);
     }
 
     @Transactional
@@ -235,6 +199,8 @@ public class ProductService {
         }
 
         Product updatedProduct = productRepository.save(product);
+        productCardService.refresh(updatedProduct.getId());
+        suggestionIndex.indexProduct(updatedProduct.getId(), updatedProduct.getName());
 
         log.info("Product updated successfully with ID: {}", updatedProduct.getId());
         return productMapper.toResponse(updatedProduct);
@@ -249,9 +215,16 @@ public class ProductService {
         }
 
         productRepository.deleteById(id);
+        availabilityService.productDeleted(id);
+        randomProductSampler.productDeleted(id);
+        suggestionIndex.removeProduct(id);
         log.info("Product deleted successfully with ID: {}", id);
     }
 
+    public List<ProductSuggestionResponse> suggest(String query, int limit) {
+        return suggestionIndex.suggest(query, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
     @Transactional(readOnly = true)
     public Page<ProductResponse> getProductsByCategory(Long categoryId, int page, int size) {
         log.info("Fetching products by category ID: {} - page: {}, size: {}", categoryId, page, size);
@@ -261,9 +234,9 @@ public class ProductService {
         }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Product> productPage = productRepository.findByCategoryId(categoryId, pageable);
+        Page<Long> idPage = productRepository.findIdsByCategoryId(categoryId, pageable);
 
-        return productPage.map(productMapper::toResponse);
+        return toResponsePage(idPage);
     }
 
     @Transactional(readOnly = true)
@@ -279,51 +252,64 @@ public class ProductService {
                 name, categoryId, startDate, endDate, page, size);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Product> productPage;
+        // Full-text queries order by relevance themselves
+        Pageable rankedPageable = PageRequest.of(page, size);
+        Page<Long> idPage;
 
         List<Long> unavailableProductIds = Collections.emptyList();
         if (startDate != null && endDate != null) {
-            unavailableProductIds = getUnavailableProductIds(startDate, endDate);
+            unavailableProductIds = availabilityService.getUnavailableProductIds(startDate, endDate);
         }
 
         boolean hasName = name != null && !name.trim().isEmpty();
         boolean hasCategory = categoryId != null;
         boolean hasDateFilter = !unavailableProductIds.isEmpty();
+        String searchName = hasName ? name.trim() : null;
+        String searchQuery = hasName ? toPrefixTsQuery(searchName) : null;
 
         if (hasDateFilter) {
             if (hasName && hasCategory) {
-                productPage = productRepository.searchByNameAndCategoryExcludingIds(
-                        name.trim(), categoryId, unavailableProductIds, pageable);
+                idPage = productRepository.searchIdsByNameAndCategoryExcludingIds(
+                        searchName, searchQuery, categoryId, unavailableProductIds, rankedPageable);
             } else if (hasName) {
-                productPage = productRepository.searchByNameExcludingIds(
-                        name.trim(), unavailableProductIds, pageable);
+                idPage = productRepository.searchIdsByNameExcludingIds(
+                        searchName, searchQuery, unavailableProductIds, rankedPageable);
             } else if (hasCategory) {
-                productPage = productRepository.searchByCategoryExcludingIds(
+                idPage = productRepository.searchIdsByCategoryExcludingIds(
                         categoryId, unavailableProductIds, pageable);
             } else {
-                productPage = productRepository.findByIdNotIn(unavailableProductIds, pageable);
+                idPage = productRepository.findIdsByIdNotIn(unavailableProductIds, pageable);
             }
         } else {
             if (hasName && hasCategory) {
-                productPage = productRepository.searchByNameAndCategory(
-                        name.trim(), categoryId, pageable);
+                idPage = productRepository.searchIdsByNameAndCategory(
+                        searchName, searchQuery, categoryId, rankedPageable);
             } else if (hasName) {
-                productPage = productRepository.searchByName(name.trim(), pageable);
+                idPage = productRepository.searchIdsByName(searchName, searchQuery, rankedPageable);
             } else if (hasCategory) {
-                productPage = productRepository.searchByCategory(categoryId, pageable);
+                idPage = productRepository.findIdsByCategoryId(categoryId, pageable);
             } else {
-                productPage = productRepository.findAllWithImages(pageable);
+                idPage = productRepository.findIds(pageable);
             }
         }
 
-        return productPage.map(productMapper::toResponse);
+        return toResponsePage(idPage);
+    }
+
+    private Page<ProductResponse> toResponsePage(Page<Long> idPage) {
+        List<ProductResponse> content = productReadService.findResponsesByIds(idPage.getContent());
+        return new PageImpl<>(content, idPage.getPageable(), idPage.getTotalElements());
+    }
+
+    // "surf tab" -> "surf:* & tab:*"; only letters and digits reach to_tsquery
+    private String toPrefixTsQuery(String text) {
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
     }
 
-    private List<Long> getUnavailableProductIds(LocalDate startDate, LocalDate endDate) {
-        return productRepository.findAll().stream()
-                .filter(product -> reservationRepository.existsOverlappingReservation(
-                        product.getId(), startDate, endDate, BLOCKING_STATUSES))
-                .map(Product::getId)
-                .collect(Collectors.toList());
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.waveheaven.back.products.service;
+
+import com.waveheaven.back.categories.repository.CategoryRepository;
+import com.waveheaven.back.characteristics.repository.CharacteristicRepository;
+import com.waveheaven.back.products.dto.ProductSuggestionResponse;
+import com.waveheaven.back.products.dto.ProductSuggestionResponse.Type;
+import com.waveheaven.back.products.repository.ProductRepository;
+import com.waveheaven.back.shared.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-process prefix index for the search box typeahead. Every word of a product name,
+ * category title or characteristic name (plus the full label) is a key in a sorted map,
+ * so a lookup is a range scan over the keys starting with the typed prefix.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSuggestionIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_SCANNED_TERMS = 256;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CharacteristicRepository characteristicRepository;
+
+    private final NavigableMap<String, Set<ProductSuggestionResponse>> suggestionsByTerm = new ConcurrentSkipListMap<>();
+    private final Map<String, ProductSuggestionResponse> suggestionsByKey = new ConcurrentHashMap<>();
+
+    // Holds the monitor for the queries so index/remove wait and apply on top of the loaded entries
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        productRepository.findAllNames()
+                .forEach(product -> replace(new ProductSuggestionResponse(Type.PRODUCT, product.getId(), product.getName())));
+        categoryRepository.findAll()
+                .forEach(category -> replace(new ProductSuggestionResponse(Type.CATEGORY, category.getId(), category.getTitle())));
+        characteristicRepository.findAll()
+                .forEach(characteristic -> replace(new ProductSuggestionResponse(Type.CHARACTERISTIC, characteristic.getId(), characteristic.getName())));
+
+        log.info("Suggestion index loaded with {} entries and {} terms", suggestionsByKey.size(), suggestionsByTerm.size());
+    }
+
+    public List<ProductSuggestionResponse> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<ProductSuggestionResponse> matches = new LinkedHashSet<>();
+        int scanned = 0;
+        for (Set<ProductSuggestionResponse> suggestions
+                : suggestionsByTerm.subMap(normalized, true, normalized + Character.MAX_VALUE, true).values()) {
+            matches.addAll(suggestions);
+            if (++scanned >= MAX_SCANNED_TERMS) {
+                break;
+            }
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparing(ProductSuggestionResponse::getType)
+                        .thenComparingInt(suggestion -> suggestion.getLabel().length())
+                        .thenComparing(ProductSuggestionResponse::getLabel))
+                .limit(limit)
+                .toList();
+    }
+
+    public void indexProduct(Long id, String name) {
+        index(Type.PRODUCT, id, name);
+    }
+
+    public void removeProduct(Long id) {
+        remove(Type.PRODUCT, id);
+    }
+
+    public void indexCategory(Long id, String title) {
+        index(Type.CATEGORY, id, title);
+    }
+
+    public void removeCategory(Long id) {
+        remove(Type.CATEGORY, id);
+    }
+
+    public void indexCharacteristic(Long id, String name) {
+        index(Type.CHARACTERISTIC, id, name);
+    }
+
+    public void removeCharacteristic(Long id) {
+        remove(Type.CHARACTERISTIC, id);
+    }
+
+    private void index(Type type, Long id, String label) {
+        AfterCommit.run(() -> replace(new ProductSuggestionResponse(type, id, label)));
+    }
+
+    private void remove(Type type, Long id) {
+        AfterCommit.run(() -> evict(type, id));
+    }
+
+    // Evict and put under one lock, so a rename is never seen half applied by another writer
+    private synchronized void replace(ProductSuggestionResponse suggestion) {
+        evict(suggestion.getType(), suggestion.getId());
+        put(suggestion);
+    }
+
+    private synchronized void put(ProductSuggestionResponse suggestion) {
+        suggestionsByKey.put(keyOf(suggestion.getType(), suggestion.getId()), suggestion);
+        termsOf(suggestion.getLabel()).forEach(term -> suggestionsByTerm
+                .computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet())
+                .add(suggestion));
+    }
+
+    private synchronized void evict(Type type, Long id) {
+        ProductSuggestionResponse stale = suggestionsByKey.remove(keyOf(type, id));
+        if (stale == null) {
+            return;
+        }
+
+        termsOf(stale.getLabel()).forEach(term -> suggestionsByTerm.computeIfPresent(term, (key, suggestions) -> {
+            suggestions.remove(stale);
+            return suggestions.isEmpty() ? null : suggestions;
+        }));
+    }
+
+    private static String keyOf(Type type, Long id) {
+        return type + ":" + id;
+    }
+
+    private static List<String> termsOf(String label) {
+        String normalized = normalize(label);
+        List<String> terms = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return terms;
+        }
+
+        terms.add(normalized);
+        for (String word : SEPARATORS.split(normalized)) {
+            if (!word.isEmpty() && !terms.contains(word)) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.trim().toLowerCase(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("");
+    }
+}
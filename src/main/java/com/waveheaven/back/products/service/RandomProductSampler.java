@@ -0,0 +1,100 @@
+package com.waveheaven.back.products.service;
+
+import com.waveheaven.back.products.repository.ProductRepository;
+import com.waveheaven.back.shared.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps a sorted snapshot of product ids so random samples cost O(k)
+ * instead of loading and shuffling the whole catalog.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RandomProductSampler {
+
+    private final ProductRepository productRepository;
+
+    private volatile long[] productIds;
+
+    // Holds the monitor for the query so update() waits and applies on the loaded array
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        productIds = productRepository.findAllIds().stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        log.info("Random product sampler loaded with {} product ids", productIds.length);
+    }
+
+    // Floyd's algorithm: k distinct positions with exactly k random draws
+    public List<Long> sample(int count) {
+        long[] ids = snapshot();
+        int k = Math.max(0, Math.min(count, ids.length));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        Set<Integer> positions = new HashSet<>(k * 2);
+        for (int j = ids.length - k; j < ids.length; j++) {
+            int candidate = random.nextInt(j + 1);
+            positions.add(positions.contains(candidate) ? j : candidate);
+        }
+
+        List<Long> sampled = new ArrayList<>(k);
+        positions.forEach(position -> sampled.add(ids[position]));
+        Collections.shuffle(sampled, random);
+        return sampled;
+    }
+
+    public void productCreated(Long productId) {
+        AfterCommit.run(() -> update(productId, true));
+    }
+
+    public void productDeleted(Long productId) {
+        AfterCommit.run(() -> update(productId, false));
+    }
+
+    private synchronized void update(Long productId, boolean present) {
+        if (productIds == null) {
+            return;
+        }
+
+        int position = Arrays.binarySearch(productIds, productId);
+        if (present && position < 0) {
+            int insertAt = -position - 1;
+            long[] updated = new long[productIds.length + 1];
+            System.arraycopy(productIds, 0, updated, 0, insertAt);
+            updated[insertAt] = productId;
+            System.arraycopy(productIds, insertAt, updated, insertAt + 1, productIds.length - insertAt);
+            productIds = updated;
+        } else if (!present && position >= 0) {
+            long[] updated = new long[productIds.length - 1];
+            System.arraycopy(productIds, 0, updated, 0, position);
+            System.arraycopy(productIds, position + 1, updated, position, productIds.length - position - 1);
+            productIds = updated;
+        }
+    }
+
+    private long[] snapshot() {
+        long[] ids = productIds;
+        if (ids == null) {
+            synchronized (this) {
+                if (productIds == null) {
+                    load();
+                }
+                ids = productIds;
+            }
+        }
+        return ids;
+    }
+}
@@ -1,5 +1,6 @@
 package com.waveheaven.back.reservations.controller;
 
+import com.waveheaven.back.auth.security.AuthenticatedUser;
 import com.waveheaven.back.reservations.dto.CreateReservationRequest;
 import com.waveheaven.back.reservations.dto.ReservationResponse;
 import com.waveheaven.back.reservations.service.ReservationService;
@@ -11,7 +12,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,8 +28,8 @@ public class ReservationController {
     @Operation(summary = "Create a new reservation")
     public ResponseEntity<ReservationResponse> createReservation(
             @Valid @RequestBody CreateReservationRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ReservationResponse response = reservationService.createReservation(request, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        ReservationResponse response = reservationService.createReservation(request, currentUser);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -42,26 +42,26 @@ public class ReservationController {
     @GetMapping("/my-reservations")
     @Operation(summary = "Get current user's reservations")
     public ResponseEntity<List<ReservationResponse>> getMyReservations(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(reservationService.getUserReservations(userDetails.getUsername()));
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(reservationService.getUserReservations(currentUser));
     }
 
     @GetMapping("/my-reservations/paginated")
     @Operation(summary = "Get current user's reservations with pagination")
     public ResponseEntity<Page<ReservationResponse>> getMyReservationsPaginated(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         return ResponseEntity.ok(reservationService.getUserReservationsPaginated(
-                userDetails.getUsername(), page, size));
+                currentUser, page, size));
     }
 
     @PostMapping("/{id}/cancel")
     @Operation(summary = "Cancel a reservation")
     public ResponseEntity<ReservationResponse> cancelReservation(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(reservationService.cancelReservation(id, userDetails.getUsername()));
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(reservationService.cancelReservation(id, currentUser));
     }
 
     @GetMapping("/product/{productId}/availability")
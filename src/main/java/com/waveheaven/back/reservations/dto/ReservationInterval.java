@@ -0,0 +1,11 @@
+package com.waveheaven.back.reservations.dto;
+
+import java.time.LocalDate;
+
+public record ReservationInterval(
+        Long reservationId,
+        Long productId,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+}
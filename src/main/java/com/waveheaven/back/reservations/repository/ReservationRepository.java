@@ -1,5 +1,6 @@
 package com.waveheaven.back.reservations.repository;
 
+import com.waveheaven.back.reservations.dto.ReservationInterval;
 import com.waveheaven.back.reservations.entity.Reservation;
 import com.waveheaven.back.reservations.entity.ReservationStatus;
 import org.springframework.data.domain.Page;
@@ -35,6 +36,22 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             @Param("endDate") LocalDate endDate,
             @Param("statuses") List<ReservationStatus> statuses);
 
+    // Find every product blocked by at least one overlapping reservation (for search)
+    @Query("SELECT DISTINCT r.product.id FROM Reservation r " +
+           "WHERE r.status IN :statuses " +
+           "AND r.startDate <= :endDate " +
+           "AND r.endDate >= :startDate")
+    List<Long> findProductIdsWithOverlappingReservation(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("statuses") List<ReservationStatus> statuses);
+
+    // Load every blocking date range (for the in-memory availability index)
+    @Query("SELECT new com.waveheaven.back.reservations.dto.ReservationInterval(" +
+           "r.id, r.product.id, r.startDate, r.endDate) FROM Reservation r " +
+           "WHERE r.status IN :statuses")
+    List<ReservationInterval> findIntervalsByStatusIn(@Param("statuses") List<ReservationStatus> statuses);
+
     // Get all reserved date ranges for a product (for calendar display)
     @Query("SELECT r FROM Reservation r " +
            "WHERE r.product.id = :productId " +
@@ -0,0 +1,140 @@
+package com.waveheaven.back.reservations.service;
+
+import com.waveheaven.back.reservations.dto.ReservationInterval;
+import com.waveheaven.back.reservations.entity.Reservation;
+import com.waveheaven.back.reservations.entity.ReservationStatus;
+import com.waveheaven.back.reservations.repository.ReservationRepository;
+import com.waveheaven.back.shared.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityService {
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationIntervalIndex intervalIndex;
+
+    @Value("${app.availability.index.enabled:true}")
+    private boolean indexEnabled;
+
+    private static final List<ReservationStatus> BLOCKING_STATUSES = List.of(
+            ReservationStatus.PENDING,
+            ReservationStatus.CONFIRMED
+    );
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadIndex() {
+        if (!indexEnabled) {
+            log.info("Availability index disabled, overlap checks will query the database");
+            return;
+        }
+
+        int loaded = rebuildIndex();
+        if (loaded >= 0) {
+            log.info("Availability index loaded with {} blocking reservations", loaded);
+        }
+    }
+
+    // Picks up reservations created or cancelled on other nodes
+    @Scheduled(
+            initialDelayString = "${app.availability.index.resync-interval:5m}",
+            fixedDelayString = "${app.availability.index.resync-interval:5m}"
+    )
+    @Transactional(readOnly = true)
+    public void resyncIndex() {
+        if (!indexEnabled) {
+            return;
+        }
+
+        int loaded = rebuildIndex();
+        if (loaded >= 0) {
+            log.debug("Availability index resynced with {} blocking reservations", loaded);
+        }
+    }
+
+    private int rebuildIndex() {
+        if (!intervalIndex.beginLoad()) {
+            return -1;
+        }
+
+        try {
+            List<ReservationInterval> intervals = reservationRepository.findIntervalsByStatusIn(BLOCKING_STATUSES);
+            intervalIndex.finishLoad(intervals);
+            return intervals.size();
+        } catch (RuntimeException e) {
+            intervalIndex.abortLoad();
+            throw e;
+        }
+    }
+
+    // Products with a blocking reservation in [startDate, endDate]
+    @Transactional(readOnly = true)
+    public List<Long> getUnavailableProductIds(LocalDate startDate, LocalDate endDate) {
+        if (useIndex()) {
+            return intervalIndex.findBlockedProductIds(startDate, endDate);
+        }
+
+        List<Long> unavailableIds = reservationRepository.findProductIdsWithOverlappingReservation(
+                startDate,
+                endDate,
+                BLOCKING_STATUSES
+        );
+
+        log.debug("{} products unavailable between {} and {}", unavailableIds.size(), startDate, endDate);
+        return unavailableIds;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isProductAvailable(Long productId, LocalDate startDate, LocalDate endDate) {
+        if (useIndex()) {
+            return !intervalIndex.hasOverlap(productId, startDate, endDate);
+        }
+
+        return !reservationRepository.existsOverlappingReservation(
+                productId,
+                startDate,
+                endDate,
+                BLOCKING_STATUSES
+        );
+    }
+
+    public void reservationCreated(Reservation reservation) {
+        if (!BLOCKING_STATUSES.contains(reservation.getStatus())) {
+            return;
+        }
+
+        ReservationInterval interval = new ReservationInterval(
+                reservation.getId(),
+                reservation.getProduct().getId(),
+                reservation.getStartDate(),
+                reservation.getEndDate()
+        );
+        AfterCommit.run(() -> intervalIndex.add(interval));
+    }
+
+    public void reservationCancelled(Reservation reservation) {
+        Long productId = reservation.getProduct().getId();
+        Long reservationId = reservation.getId();
+        AfterCommit.run(() -> intervalIndex.remove(productId, reservationId));
+    }
+
+    public void productDeleted(Long productId) {
+        AfterCommit.run(() -> intervalIndex.removeProduct(productId));
+    }
+
+    private boolean useIndex() {
+        return indexEnabled && intervalIndex.isReady();
+    }
+}
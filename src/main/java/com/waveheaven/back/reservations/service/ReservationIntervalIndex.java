@@ -0,0 +1,220 @@
+package com.waveheaven.back.reservations.service;
+
+import com.waveheaven.back.reservations.dto.ReservationInterval;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of blocking reservations, one sorted interval array per product.
+ * Reads are lock-free; writes replace the product's array copy-on-write.
+ *
+ * <p>A (re)load builds a fresh map from a database snapshot and swaps it in. Writes that
+ * arrive between {@link #beginLoad()} and {@link #finishLoad(List)} are applied to the
+ * live map and also recorded, then replayed on top of the snapshot before the swap, so a
+ * cancellation committed while the snapshot query runs is not lost.
+ */
+@Component
+public class ReservationIntervalIndex {
+
+    private volatile Map<Long, ProductIntervals> intervalsByProduct = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    // Guarded by this; non-null while a load is in progress
+    private List<Consumer<Map<Long, ProductIntervals>>> pendingWrites;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Returns false if another load is already running
+    public synchronized boolean beginLoad() {
+        if (pendingWrites != null) {
+            return false;
+        }
+        pendingWrites = new ArrayList<>();
+        return true;
+    }
+
+    public synchronized void finishLoad(List<ReservationInterval> intervals) {
+        Map<Long, ProductIntervals> loaded = new ConcurrentHashMap<>();
+        intervals.stream()
+                .collect(Collectors.groupingBy(ReservationInterval::productId))
+                .forEach((productId, productIntervals) -> loaded.put(productId, ProductIntervals.of(productIntervals)));
+
+        pendingWrites.forEach(write -> write.accept(loaded));
+        pendingWrites = null;
+
+        intervalsByProduct = loaded;
+        ready = true;
+    }
+
+    public synchronized void abortLoad() {
+        pendingWrites = null;
+    }
+
+    public void add(ReservationInterval interval) {
+        write(intervals -> intervals.compute(interval.productId(), (id, current) ->
+                (current == null ? ProductIntervals.EMPTY : current).with(interval)));
+    }
+
+    public void remove(Long productId, Long reservationId) {
+        write(intervals -> intervals.computeIfPresent(productId, (id, current) -> {
+            ProductIntervals updated = current.without(reservationId);
+            return updated.isEmpty() ? null : updated;
+        }));
+    }
+
+    public void removeProduct(Long productId) {
+        write(intervals -> intervals.remove(productId));
+    }
+
+    private synchronized void write(Consumer<Map<Long, ProductIntervals>> write) {
+        write.accept(intervalsByProduct);
+        if (pendingWrites != null) {
+            pendingWrites.add(write);
+        }
+    }
+
+    public boolean hasOverlap(Long productId, LocalDate startDate, LocalDate endDate) {
+        ProductIntervals intervals = intervalsByProduct.get(productId);
+        return intervals != null && intervals.overlaps(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    public List<Long> findBlockedProductIds(LocalDate startDate, LocalDate endDate) {
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+
+        List<Long> blocked = new ArrayList<>();
+        intervalsByProduct.forEach((productId, intervals) -> {
+            if (intervals.overlaps(start, end)) {
+                blocked.add(productId);
+            }
+        });
+        return blocked;
+    }
+
+    /**
+     * Intervals sorted by start day, with a running maximum of end days so an overlap
+     * query is a single binary search even if two ranges were ever stored overlapping.
+     */
+    static final class ProductIntervals {
+
+        static final ProductIntervals EMPTY = new ProductIntervals(new long[0], new long[0], new long[0]);
+
+        private final long[] reservationIds;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+
+        private ProductIntervals(long[] reservationIds, long[] starts, long[] ends) {
+            this.reservationIds = reservationIds;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new long[ends.length];
+            for (int i = 0; i < ends.length; i++) {
+                maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+            }
+        }
+
+        static ProductIntervals of(List<ReservationInterval> intervals) {
+            List<ReservationInterval> sorted = intervals.stream()
+                    .sorted(Comparator.comparing(ReservationInterval::startDate))
+                    .toList();
+
+            long[] ids = new long[sorted.size()];
+            long[] starts = new long[sorted.size()];
+            long[] ends = new long[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                ids[i] = sorted.get(i).reservationId();
+                starts[i] = sorted.get(i).startDate().toEpochDay();
+                ends[i] = sorted.get(i).endDate().toEpochDay();
+            }
+            return new ProductIntervals(ids, starts, ends);
+        }
+
+        boolean isEmpty() {
+            return reservationIds.length == 0;
+        }
+
+        boolean overlaps(long start, long end) {
+            int last = lastStartingOnOrBefore(end);
+            return last >= 0 && maxEnds[last] >= start;
+        }
+
+        ProductIntervals with(ReservationInterval interval) {
+            if (indexOf(interval.reservationId()) >= 0) {
+                return this;
+            }
+
+            long start = interval.startDate().toEpochDay();
+            int position = lastStartingOnOrBefore(start) + 1;
+
+            return new ProductIntervals(
+                    insert(reservationIds, position, interval.reservationId()),
+                    insert(starts, position, start),
+                    insert(ends, position, interval.endDate().toEpochDay())
+            );
+        }
+
+        ProductIntervals without(Long reservationId) {
+            int position = indexOf(reservationId);
+            if (position < 0) {
+                return this;
+            }
+            return new ProductIntervals(
+                    delete(reservationIds, position),
+                    delete(starts, position),
+                    delete(ends, position)
+            );
+        }
+
+        private int lastStartingOnOrBefore(long day) {
+            int low = 0;
+            int high = starts.length - 1;
+            int result = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= day) {
+                    result = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return result;
+        }
+
+        private int indexOf(long reservationId) {
+            for (int i = 0; i < reservationIds.length; i++) {
+                if (reservationIds[i] == reservationId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static long[] insert(long[] source, int position, long value) {
+            long[] target = Arrays.copyOf(source, source.length + 1);
+            System.arraycopy(source, position, target, position + 1, source.length - position);
+            target[position] = value;
+            return target;
+        }
+
+        private static long[] delete(long[] source, int position) {
+            long[] target = new long[source.length - 1];
+            System.arraycopy(source, 0, target, 0, position);
+            System.arraycopy(source, position + 1, target, position, source.length - position - 1);
+            return target;
+        }
+    }
+}
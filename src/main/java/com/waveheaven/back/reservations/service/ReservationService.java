@@ -2,6 +2,7 @@ package com.waveheaven.back.reservations.service;
 
 import com.waveheaven.back.auth.entity.User;
 import com.waveheaven.back.auth.repository.UserRepository;
+import com.waveheaven.back.auth.security.AuthenticatedUser;
 import com.waveheaven.back.email.service.EmailService;
 import com.waveheaven.back.products.entity.Product;
 import com.waveheaven.back.products.repository.ProductRepository;
@@ -35,6 +36,7 @@ public class ReservationService {
     private final UserRepository userRepository;
     private final ReservationMapper reservationMapper;
     private final EmailService emailService;
+    private final AvailabilityService availabilityService;
 
     private static final List<ReservationStatus> BLOCKING_STATUSES = List.of(
             ReservationStatus.PENDING,
@@ -42,21 +44,21 @@ public class ReservationService {
     );
 
     @Transactional
-    public ReservationResponse createReservation(CreateReservationRequest request, String userEmail) {
+    public ReservationResponse createReservation(CreateReservationRequest request, AuthenticatedUser currentUser) {
         // Validate dates
         if (request.getEndDate().isBefore(request.getStartDate())) {
             throw new BadRequestException("End date must be after start date");
         }
 
-        // Find user
-        User user = userRepository.findByEmail(userEmail)
+        // Find user (by primary key; the name is needed for the confirmation email)
+        User user = userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         // Find product
         Product product = productRepository.findByIdWithImages(request.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + request.getProductId()));
 
-        // Check availability
+        // Check availability (always against the database, the index only serves reads)
         boolean hasOverlap = reservationRepository.existsOverlappingReservation(
                 request.getProductId(),
                 request.getStartDate(),
@@ -78,15 +80,16 @@ public class ReservationService {
                 .build();
 
         reservation = reservationRepository.save(reservation);
+        availabilityService.reservationCreated(reservation);
         log.info("Reservation created: {} for product {} by user {}",
-                reservation.getId(), product.getName(), userEmail);
+                reservation.getId(), product.getName(), currentUser.getEmail());
 
         // Send confirmation email
         String productImageUrl = product.getImages().isEmpty() ? null : product.getImages().get(0).getUrl();
         String userFullName = user.getFirstName() + " " + user.getLastName();
 
         emailService.sendReservationConfirmation(
-                userEmail,
+                user.getEmail(),
                 userFullName,
                 reservation.getId(),
                 product.getName(),
@@ -104,30 +107,24 @@ public class ReservationService {
         return reservationMapper.toResponse(reservation);
     }
 
-    public List<ReservationResponse> getUserReservations(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        List<Reservation> reservations = reservationRepository.findByUserIdOrderByStartDateDesc(user.getId());
+    public List<ReservationResponse> getUserReservations(AuthenticatedUser currentUser) {
+        List<Reservation> reservations = reservationRepository.findByUserIdOrderByStartDateDesc(currentUser.getId());
         return reservationMapper.toResponseList(reservations);
     }
 
-    public Page<ReservationResponse> getUserReservationsPaginated(String userEmail, int page, int size) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
+    public Page<ReservationResponse> getUserReservationsPaginated(AuthenticatedUser currentUser, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Reservation> reservations = reservationRepository.findByUserIdOrderByCreatedAtDesc(user.getId(), pageable);
+        Page<Reservation> reservations = reservationRepository.findByUserIdOrderByCreatedAtDesc(currentUser.getId(), pageable);
         return reservations.map(reservationMapper::toResponse);
     }
 
     @Transactional
-    public ReservationResponse cancelReservation(Long id, String userEmail) {
+    public ReservationResponse cancelReservation(Long id, AuthenticatedUser currentUser) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
 
         // Verify ownership
-        if (!reservation.getUser().getEmail().equals(userEmail)) {
+        if (!reservation.getUser().getId().equals(currentUser.getId())) {
             throw new BadRequestException("You can only cancel your own reservations");
         }
 
@@ -142,20 +139,16 @@ public class ReservationService {
 
         reservation.setStatus(ReservationStatus.CANCELLED);
         reservation = reservationRepository.save(reservation);
+        availabilityService.reservationCancelled(reservation);
 
-        log.info("Reservation {} cancelled by user {}", id, userEmail);
+        log.info("Reservation {} cancelled by user {}", id, currentUser.getEmail());
 
         return reservationMapper.toResponse(reservation);
     }
 
     // Method for checking product availability (used by search)
     public boolean isProductAvailable(Long productId, LocalDate startDate, LocalDate endDate) {
-        return !reservationRepository.existsOverlappingReservation(
-                productId,
-                startDate,
-                endDate,
-                BLOCKING_STATUSES
-        );
+        return availabilityService.isProductAvailable(productId, startDate, endDate);
     }
 
     // Get occupied dates for a product (for calendar display)
@@ -1,5 +1,6 @@
 package com.waveheaven.back.reviews.controller;
 
+import com.waveheaven.back.auth.security.AuthenticatedUser;
 import com.waveheaven.back.reviews.dto.CreateReviewRequest;
 import com.waveheaven.back.reviews.dto.ProductRatingResponse;
 import com.waveheaven.back.reviews.dto.ReviewResponse;
@@ -11,7 +12,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,8 +28,8 @@ public class ReviewController {
     @Operation(summary = "Create a new review")
     public ResponseEntity<ReviewResponse> createReview(
             @Valid @RequestBody CreateReviewRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ReviewResponse response = reviewService.createReview(request, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        ReviewResponse response = reviewService.createReview(request, currentUser);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -38,8 +38,8 @@ public class ReviewController {
     public ResponseEntity<ReviewResponse> updateReview(
             @PathVariable Long productId,
             @Valid @RequestBody CreateReviewRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ReviewResponse response = reviewService.updateReview(productId, request, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        ReviewResponse response = reviewService.updateReview(productId, request, currentUser);
         return ResponseEntity.ok(response);
     }
 
@@ -47,8 +47,8 @@ public class ReviewController {
     @Operation(summary = "Delete your review for a product")
     public ResponseEntity<Void> deleteReview(
             @PathVariable Long productId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        reviewService.deleteReview(productId, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        reviewService.deleteReview(productId, currentUser);
         return ResponseEntity.noContent().build();
     }
 
@@ -68,8 +68,8 @@ public class ReviewController {
     @Operation(summary = "Get current user's review for a product")
     public ResponseEntity<ReviewResponse> getMyReview(
             @PathVariable Long productId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ReviewResponse response = reviewService.getUserReviewForProduct(productId, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        ReviewResponse response = reviewService.getUserReviewForProduct(productId, currentUser);
         return ResponseEntity.ok(response);
     }
 }
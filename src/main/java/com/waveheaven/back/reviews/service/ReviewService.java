@@ -1,9 +1,10 @@
 package com.waveheaven.back.reviews.service;
 
-import com.waveheaven.back.auth.entity.User;
 import com.waveheaven.back.auth.repository.UserRepository;
+import com.waveheaven.back.auth.security.AuthenticatedUser;
 import com.waveheaven.back.products.entity.Product;
 import com.waveheaven.back.products.repository.ProductRepository;
+import com.waveheaven.back.products.service.ProductCardService;
 import com.waveheaven.back.reviews.dto.CreateReviewRequest;
 import com.waveheaven.back.reviews.dto.ProductRatingResponse;
 import com.waveheaven.back.reviews.dto.ReviewResponse;
@@ -28,61 +29,56 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final ProductCardService productCardService;
 
     @Transactional
-    public ReviewResponse createReview(CreateReviewRequest request, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
+    public ReviewResponse createReview(CreateReviewRequest request, AuthenticatedUser currentUser) {
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + request.getProductId()));
 
         // Check if user already reviewed this product
-        if (reviewRepository.existsByUserIdAndProductId(user.getId(), request.getProductId())) {
+        if (reviewRepository.existsByUserIdAndProductId(currentUser.getId(), request.getProductId())) {
             throw new ConflictException("You have already reviewed this product");
         }
 
         Review review = Review.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(currentUser.getId()))
                 .product(product)
                 .rating(request.getRating())
                 .comment(request.getComment())
                 .build();
 
         review = reviewRepository.save(review);
-        log.info("Review created for product {} by user {}", request.getProductId(), userEmail);
+        productCardService.refreshRating(request.getProductId());
+        log.info("Review created for product {} by user {}", request.getProductId(), currentUser.getEmail());
 
         return toResponse(review);
     }
 
     @Transactional
-    public ReviewResponse updateReview(Long productId, CreateReviewRequest request, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        Review review = reviewRepository.findByUserIdAndProductId(user.getId(), productId)
+    public ReviewResponse updateReview(Long productId, CreateReviewRequest request, AuthenticatedUser currentUser) {
+        Review review = reviewRepository.findByUserIdAndProductId(currentUser.getId(), productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found"));
 
         review.setRating(request.getRating());
         review.setComment(request.getComment());
 
         review = reviewRepository.save(review);
-        log.info("Review updated for product {} by user {}", productId, userEmail);
+        productCardService.refreshRating(productId);
+        log.info("Review updated for product {} by user {}", productId, currentUser.getEmail());
 
         return toResponse(review);
     }
 
     @Transactional
-    public void deleteReview(Long productId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        if (!reviewRepository.existsByUserIdAndProductId(user.getId(), productId)) {
+    public void deleteReview(Long productId, AuthenticatedUser currentUser) {
+        if (!reviewRepository.existsByUserIdAndProductId(currentUser.getId(), productId)) {
             throw new ResourceNotFoundException("Review not found");
         }
 
-        reviewRepository.deleteByUserIdAndProductId(user.getId(), productId);
-        log.info("Review deleted for product {} by user {}", productId, userEmail);
+        reviewRepository.deleteByUserIdAndProductId(currentUser.getId(), productId);
+        productCardService.refreshRating(productId);
+        log.info("Review deleted for product {} by user {}", productId, currentUser.getEmail());
     }
 
     @Transactional(readOnly = true)
@@ -114,11 +110,8 @@ public class ReviewService {
     }
 
     @Transactional(readOnly = true)
-    public ReviewResponse getUserReviewForProduct(Long productId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        return reviewRepository.findByUserIdAndProductId(user.getId(), productId)
+    public ReviewResponse getUserReviewForProduct(Long productId, AuthenticatedUser currentUser) {
+        return reviewRepository.findByUserIdAndProductId(currentUser.getId(), productId)
                 .map(this::toResponse)
                 .orElse(null);
     }
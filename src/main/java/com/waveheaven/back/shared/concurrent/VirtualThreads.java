@@ -0,0 +1,45 @@
+package com.waveheaven.back.shared.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factories that use virtual threads when the runtime has them (Java 21+) and
+ * fall back to ordinary named platform threads otherwise. The project compiles for
+ * Java 17, so the virtual thread builder is looked up reflectively.
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return virtualFactory("probe-") != null;
+    }
+
+    public static ThreadFactory factory(String namePrefix) {
+        ThreadFactory factory = virtualFactory(namePrefix);
+        if (factory != null) {
+            return factory;
+        }
+        log.debug("Virtual threads not available, {} uses platform threads", namePrefix);
+        CustomizableThreadFactory platform = new CustomizableThreadFactory(namePrefix);
+        platform.setDaemon(true);
+        return platform;
+    }
+
+    private static ThreadFactory virtualFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not on Java 21+, or virtual threads are a disabled preview feature
+            return null;
+        }
+    }
+}
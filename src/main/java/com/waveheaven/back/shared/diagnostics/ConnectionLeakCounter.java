@@ -0,0 +1,53 @@
+package com.waveheaven.back.shared.diagnostics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hikari reports a connection held past leak-detection-threshold only as a log
+ * warning. This counts those warnings as hikaricp.connections.leaks so they show up
+ * in actuator metrics next to the pool gauges.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.datasource.hikari.leak-detection-threshold")
+@Slf4j
+public class ConnectionLeakCounter {
+
+    private static final String LEAK_LOGGER = "com.zaxxer.hikari.pool.ProxyLeakTask";
+
+    public ConnectionLeakCounter(MeterRegistry meterRegistry) {
+        Counter leaks = Counter.builder("hikaricp.connections.leaks")
+                .description("Connections held longer than the leak detection threshold")
+                .register(meterRegistry);
+
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            log.warn("Logback not in use, connection leak warnings will not be counted");
+            return;
+        }
+
+        TurboFilter filter = new TurboFilter() {
+            @Override
+            public FilterReply decide(Marker marker, Logger logger, Level level, String format,
+                                      Object[] params, Throwable t) {
+                // Only count real events: format is null when logback just asks if WARN is enabled
+                if (format != null && level == Level.WARN && LEAK_LOGGER.equals(logger.getName())) {
+                    leaks.increment();
+                }
+                return FilterReply.NEUTRAL;
+            }
+        };
+        filter.setName("hikari-leak-counter");
+        filter.start();
+        context.addTurboFilter(filter);
+    }
+}
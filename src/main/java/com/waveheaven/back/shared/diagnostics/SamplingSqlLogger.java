@@ -0,0 +1,29 @@
+package com.waveheaven.back.shared.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs a random fraction of the SQL Hibernate prepares, at INFO, without bound
+ * parameters. Gives a feel for the statement mix in production at a fixed, small
+ * logging cost, where spring.jpa.show-sql would print every statement to stdout.
+ */
+@Slf4j
+public class SamplingSqlLogger implements StatementInspector {
+
+    private final double sampleRate;
+
+    public SamplingSqlLogger(double sampleRate) {
+        this.sampleRate = Math.min(1.0, sampleRate);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Sampled SQL: {}", sql);
+        }
+        return sql;
+    }
+}
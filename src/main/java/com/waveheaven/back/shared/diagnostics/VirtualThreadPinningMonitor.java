@@ -0,0 +1,162 @@
+package com.waveheaven.back.shared.diagnostics;
+
+import com.waveheaven.back.shared.concurrent.VirtualThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records virtual threads pinned to their carrier (blocking inside synchronized or a
+ * native frame) with an in-process JFR stream. Each event is timed as
+ * jvm.threads.virtual.pinned, and /actuator/pinning lists the code locations that pin
+ * most often plus the latest events with their stacks. Does nothing before Java 21.
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(name = "app.diagnostics.pinning.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int RECENT_EVENTS = 50;
+    private static final int MAX_LOCATIONS = 200;
+    private static final int STACK_DEPTH = 8;
+
+    private final Duration threshold;
+    private final Timer pinned;
+    private final Map<String, LongAdder> countsByLocation = new ConcurrentHashMap<>();
+    private final Deque<PinnedEvent> recent = new ArrayDeque<>();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.diagnostics.pinning.threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!VirtualThreads.isSupported()) {
+            log.info("Pinning diagnostics enabled but this JVM has no virtual threads, nothing to record");
+            return;
+        }
+
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::record);
+            recording.startAsync();
+            stream = recording;
+            log.info("Recording virtual thread pinning longer than {}", threshold);
+        } catch (RuntimeException e) {
+            // JFR can be missing or disabled in some runtimes
+            log.warn("Could not start the JFR stream for pinning diagnostics: {}", e.getMessage());
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        List<Map<String, Object>> locations = countsByLocation.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .map(entry -> Map.<String, Object>of("location", entry.getKey(), "count", entry.getValue().sum()))
+                .toList();
+
+        List<PinnedEvent> latest;
+        synchronized (recent) {
+            latest = new ArrayList<>(recent);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("recording", stream != null);
+        report.put("thresholdMillis", threshold.toMillis());
+        report.put("totalEvents", pinned.count());
+        report.put("totalPinnedMillis", pinned.totalTime(TimeUnit.MILLISECONDS));
+        report.put("locations", locations);
+        report.put("recent", latest);
+        return report;
+    }
+
+    private void record(RecordedEvent event) {
+        pinned.record(event.getDuration());
+
+        List<String> frames = frames(event.getStackTrace());
+        String location = applicationFrame(frames);
+        if (countsByLocation.size() < MAX_LOCATIONS || countsByLocation.containsKey(location)) {
+            countsByLocation.computeIfAbsent(location, key -> new LongAdder()).increment();
+        }
+
+        PinnedEvent pinnedEvent = new PinnedEvent(
+                event.getStartTime().toString(),
+                event.getDuration().toMillis(),
+                event.getThread() != null ? event.getThread().getJavaName() : null,
+                frames
+        );
+        synchronized (recent) {
+            if (recent.size() == RECENT_EVENTS) {
+                recent.removeFirst();
+            }
+            recent.addLast(pinnedEvent);
+        }
+    }
+
+    private List<String> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        return stackTrace.getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(this::describe)
+                .toList();
+    }
+
+    private String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    // The first frame outside the JDK is usually the library or class holding the monitor
+    private String applicationFrame(List<String> frames) {
+        return frames.stream()
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .findFirst()
+                .orElse(frames.isEmpty() ? "unknown" : frames.get(0));
+    }
+
+    @Override
+    public void destroy() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public record PinnedEvent(String startTime, long durationMillis, String thread, List<String> stack) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.waveheaven.back.shared.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waveheaven.back.config.RateLimitProperties;
+import com.waveheaven.back.shared.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client request throttling for the routes configured in app.rate-limit.rules.
+ * Runs after JWT authentication, so signed-in users are limited by account and anonymous
+ * callers by IP. Each client gets its own lock-free {@link TokenBucket} in a
+ * ConcurrentHashMap; full (idle) buckets are swept periodically.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<LimitedRoute> routes;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.enabled = properties.isEnabled();
+        this.routes = properties.getRules().stream()
+                .map(rule -> new LimitedRoute(rule, properties.getMaxClientsPerRule(), meterRegistry))
+                .toList();
+
+        if (enabled) {
+            routes.forEach(route -> log.info("Rate limit '{}': {} req/s, burst {}, per {}",
+                    route.rule.getName(), route.rule.getPermitsPerSecond(), route.rule.getBurst(), route.rule.getKey()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        LimitedRoute route = findRoute(request);
+        if (route != null) {
+            long waitNanos = route.bucketFor(clientKey(request, route.rule.getKey())).tryAcquire();
+            if (waitNanos > 0) {
+                route.rejected.increment();
+                reject(request, response, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval:60s}")
+    public void evictIdleBuckets() {
+        routes.forEach(LimitedRoute::evictIdle);
+    }
+
+    private LimitedRoute findRoute(HttpServletRequest request) {
+        for (LimitedRoute route : routes) {
+            if (route.matcher.matches(request)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request, RateLimitProperties.KeyType keyType) {
+        if (keyType == RateLimitProperties.KeyType.USER_OR_IP) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        // The proxy's address unless server.forward-headers-strategy is set behind a load balancer
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Too many requests, try again later",
+                request.getRequestURI()
+        );
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static final class LimitedRoute {
+
+        private final RateLimitProperties.Rule rule;
+        private final RequestMatcher matcher;
+        private final int maxClients;
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final TokenBucket overflow;
+        private final Counter rejected;
+
+        LimitedRoute(RateLimitProperties.Rule rule, int maxClients, MeterRegistry meterRegistry) {
+            this.rule = rule;
+            this.maxClients = maxClients;
+            this.matcher = new OrRequestMatcher(rule.getPaths().stream()
+                    .map(path -> (RequestMatcher) new AntPathRequestMatcher(path, httpMethod(rule)))
+                    .toList());
+            this.overflow = newBucket();
+            this.rejected = Counter.builder("http.server.requests.rate.limited")
+                    .description("Requests refused with 429 by the per-client rate limit")
+                    .tag("rule", rule.getName())
+                    .register(meterRegistry);
+            Gauge.builder("rate.limit.clients", buckets, Map::size)
+                    .description("Clients with a token bucket for the rule")
+                    .tag("rule", rule.getName())
+                    .register(meterRegistry);
+        }
+
+        TokenBucket bucketFor(String clientKey) {
+            TokenBucket bucket = buckets.get(clientKey);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (buckets.size() >= maxClients) {
+                return overflow;
+            }
+            return buckets.computeIfAbsent(clientKey, key -> newBucket());
+        }
+
+        // A bucket refilled to full carries no state; a client racing the sweep just starts a new one
+        void evictIdle() {
+            buckets.values().removeIf(TokenBucket::isIdle);
+        }
+
+        private TokenBucket newBucket() {
+            return new TokenBucket(rule.getPermitsPerSecond(), rule.getBurst());
+        }
+
+        private static String httpMethod(RateLimitProperties.Rule rule) {
+            return rule.getMethod() == null || rule.getMethod().isBlank() ? null : rule.getMethod().toUpperCase();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.waveheaven.back.shared.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket implemented as a generic cell rate algorithm (GCRA): the whole state is
+ * one "theoretical arrival time", updated with a CAS, so there is no refill thread and
+ * no lock. A bucket allows {@code burst} permits at once and then one permit every
+ * {@code 1 / permitsPerSecond} seconds.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    private final LongSupplier nanoTime;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    // Clock injectable for tests
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoTime) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(nanoTime.getAsLong());
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Takes a permit if one is available. Returns 0 when the permit was granted, otherwise
+     * the nanoseconds until the next permit becomes available (nothing is consumed).
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = nanoTime.getAsLong();
+            long current = theoreticalArrival.get();
+            long arrival = current - now > 0 ? current : now;
+            long allowedAt = arrival - burstToleranceNanos;
+
+            if (allowedAt - now > 0) {
+                return allowedAt - now;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Blocks until a permit is granted; meant for background workers, not request threads
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquire()) > 0) {
+            LockSupport.parkNanos(this, waitNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    // True once the bucket is full again, so an idle per-client bucket can be dropped
+    public boolean isIdle() {
+        return theoreticalArrival.get() - nanoTime.getAsLong() <= 0;
+    }
+}
@@ -0,0 +1,152 @@
+package com.waveheaven.back.shared.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waveheaven.back.shared.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for database-bound requests. With open-in-view (Spring's default)
+ * a request keeps its pooled connection from the first query until the response is
+ * written, so the permit is held for the whole request too: at most max-concurrent
+ * requests can hold a connection, and the rest wait here, visibly and with a timeout,
+ * instead of inside Hikari. Requests that time out get a 503 with Retry-After.
+ *
+ * <p>Only routes that use the database should take a permit; exclude-paths carves out
+ * in-memory and CPU-bound routes (suggestions, the WhatsApp queue, password hashing) so
+ * they cannot crowd database traffic into 503s.
+ */
+@Component
+@Slf4j
+public class DatabaseAdmissionFilter extends OncePerRequestFilter {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final RequestMatcher matcher;
+    private final RequestMatcher excluded;
+    private final Semaphore permits;
+    private final long timeoutNanos;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public DatabaseAdmissionFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.db.admission.enabled:false}") boolean enabled,
+            @Value("${app.db.admission.paths:/api/**}") String[] paths,
+            @Value("${app.db.admission.exclude-paths:}") String[] excludePaths,
+            @Value("${app.db.admission.max-concurrent:8}") int maxConcurrent,
+            @Value("${app.db.admission.timeout:2s}") Duration timeout) {
+
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.matcher = anyOf(paths);
+        this.excluded = anyOf(excludePaths);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.timeoutNanos = timeout.toNanos();
+        this.waitTimer = Timer.builder("db.admission.wait")
+                .description("Time requests waited for a database admission permit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("db.admission.rejected")
+                .description("Requests refused because no database admission permit freed up in time")
+                .register(meterRegistry);
+        Gauge.builder("db.admission.active", permits, semaphore -> maxConcurrent - semaphore.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("db.admission.waiting", permits, Semaphore::getQueueLength)
+                .register(meterRegistry);
+
+        if (enabled) {
+            log.info("Database admission limit: {} concurrent requests on {} except {}, {} wait",
+                    maxConcurrent, Arrays.toString(paths), Arrays.toString(excludePaths), timeout);
+        }
+    }
+
+    private static RequestMatcher anyOf(String[] paths) {
+        List<RequestMatcher> matchers = Arrays.stream(paths)
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .map(path -> (RequestMatcher) new AntPathRequestMatcher(path))
+                .toList();
+        return matchers.isEmpty() ? request -> false : new OrRequestMatcher(matchers);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !matcher.matches(request) || excluded.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!acquire()) {
+            rejected.increment();
+            reject(request, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        long start = System.nanoTime();
+        try {
+            return permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "Server is busy, try again later",
+                request.getRequestURI()
+        );
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -2,11 +2,13 @@ package com.waveheaven.back.whatsapp.controller;
 
 import com.waveheaven.back.whatsapp.dto.WhatsAppMessageRequest;
 import com.waveheaven.back.whatsapp.dto.WhatsAppMessageResponse;
+import com.waveheaven.back.whatsapp.service.WhatsAppDispatchService;
 import com.waveheaven.back.whatsapp.service.WhatsAppService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,18 +21,21 @@ import java.util.Map;
 public class WhatsAppController {
 
     private final WhatsAppService whatsAppService;
+    private final WhatsAppDispatchService whatsAppDispatchService;
 
     @PostMapping("/send")
-    @Operation(summary = "Send WhatsApp message", description = "Send a message to the provider via WhatsApp")
+    @Operation(summary = "Send WhatsApp message",
+               description = "Queue a message to the provider via WhatsApp; poll /messages/{id} for delivery")
     public ResponseEntity<WhatsAppMessageResponse> sendMessage(
             @Valid @RequestBody WhatsAppMessageRequest request) {
-        WhatsAppMessageResponse response = whatsAppService.sendMessage(request);
+        WhatsAppMessageResponse response = whatsAppDispatchService.enqueue(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
 
-        if (response.isSuccess()) {
-            return ResponseEntity.ok(response);
-        } else {
-            return ResponseEntity.badRequest().body(response);
-        }
+    @GetMapping("/messages/{id}")
+    @Operation(summary = "Get WhatsApp message status", description = "Delivery status of a queued message")
+    public ResponseEntity<WhatsAppMessageResponse> getMessageStatus(@PathVariable String id) {
+        return ResponseEntity.ok(whatsAppDispatchService.getStatus(id));
     }
 
     @GetMapping("/status")
@@ -0,0 +1,8 @@
+package com.waveheaven.back.whatsapp.dto;
+
+public enum WhatsAppDispatchStatus {
+    QUEUED,
+    SENDING,
+    SENT,
+    FAILED
+}
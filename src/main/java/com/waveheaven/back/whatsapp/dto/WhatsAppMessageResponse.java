@@ -13,9 +13,12 @@ import java.time.LocalDateTime;
 @Builder
 public class WhatsAppMessageResponse {
 
+    private String id; // Dispatch id, used to look up the delivery status
+    private WhatsAppDispatchStatus dispatchStatus;
     private String messageSid;
-    private String status;
+    private String status; // Twilio message status once sent
     private String to;
+    private LocalDateTime queuedAt;
     private LocalDateTime sentAt;
     private boolean success;
     private String errorMessage;
@@ -0,0 +1,228 @@
+package com.waveheaven.back.whatsapp.service;
+
+import com.twilio.exception.ApiException;
+import com.twilio.rest.api.v2010.account.Message;
+import com.waveheaven.back.shared.cache.BoundedTtlCache;
+import com.waveheaven.back.shared.concurrent.VirtualThreads;
+import com.waveheaven.back.shared.exception.BadRequestException;
+import com.waveheaven.back.shared.exception.ResourceNotFoundException;
+import com.waveheaven.back.shared.exception.ServiceUnavailableException;
+import com.waveheaven.back.shared.exception.TooManyRequestsException;
+import com.waveheaven.back.shared.ratelimit.TokenBucket;
+import com.waveheaven.back.shared.resilience.CircuitBreaker;
+import com.waveheaven.back.whatsapp.dto.WhatsAppDispatchStatus;
+import com.waveheaven.back.whatsapp.dto.WhatsAppMessageRequest;
+import com.waveheaven.back.whatsapp.dto.WhatsAppMessageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues WhatsApp messages and delivers them in the background, so a slow Twilio round
+ * trip never holds a servlet thread. Delivery runs on a few workers (virtual threads on
+ * Java 21+) behind a bounded queue, throttled by a token bucket and guarded by a circuit
+ * breaker that opens after repeated Twilio API errors. Statuses are kept in memory for
+ * lookup by dispatch id.
+ *
+ * <p>The queue is not persisted. On shutdown the workers get long enough to send a full
+ * queue at the configured rate; whatever is still queued after that is lost.
+ */
+@Service
+@Slf4j
+public class WhatsAppDispatchService implements DisposableBean {
+
+    private static final long QUEUE_FULL_RETRY_AFTER_SECONDS = 5;
+    // Room for the Twilio round trips still in flight when the last permit is granted
+    private static final Duration DRAIN_MARGIN = Duration.ofSeconds(10);
+
+    private final WhatsAppService whatsAppService;
+    private final ThreadPoolExecutor executor;
+    private final TokenBucket rateLimit;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration drainTimeout;
+    private final BoundedTtlCache<String, WhatsAppMessageResponse> statuses;
+    private final Counter rejected;
+    private final Counter sent;
+    private final Counter failed;
+
+    public WhatsAppDispatchService(
+            WhatsAppService whatsAppService,
+            MeterRegistry meterRegistry,
+            @Value("${app.whatsapp.dispatch.workers:4}") int workers,
+            @Value("${app.whatsapp.dispatch.queue-capacity:100}") int queueCapacity,
+            @Value("${app.whatsapp.dispatch.rate-per-second:1}") double ratePerSecond,
+            @Value("${app.whatsapp.dispatch.burst:5}") int burst,
+            @Value("${app.whatsapp.dispatch.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.whatsapp.dispatch.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${app.whatsapp.dispatch.status-retention:1h}") Duration statusRetention,
+            @Value("${app.whatsapp.dispatch.status-max-size:10000}") int statusMaxSize) {
+
+        this.whatsAppService = whatsAppService;
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                VirtualThreads.factory("whatsapp-dispatch-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.rateLimit = new TokenBucket(ratePerSecond, burst);
+        this.circuitBreaker = new CircuitBreaker("twilio", failureThreshold, openDuration);
+        this.statuses = new BoundedTtlCache<>(statusMaxSize, statusRetention);
+        // Every queued and running message still needs a permit at ratePerSecond
+        this.drainTimeout = Duration.ofMillis((long) Math.ceil((queueCapacity + workers) * 1000 / ratePerSecond))
+                .plus(DRAIN_MARGIN);
+
+        new ExecutorServiceMetrics(executor, "whatsapp.dispatch", Tags.empty()).bindTo(meterRegistry);
+        this.rejected = Counter.builder("whatsapp.dispatch.rejected")
+                .description("WhatsApp messages refused because the dispatch queue was full")
+                .register(meterRegistry);
+        this.sent = Counter.builder("whatsapp.dispatch.completed")
+                .tag("outcome", "sent")
+                .register(meterRegistry);
+        this.failed = Counter.builder("whatsapp.dispatch.completed")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        Gauge.builder("whatsapp.circuit.open", circuitBreaker,
+                        breaker -> breaker.getState() == CircuitBreaker.State.OPEN ? 1 : 0)
+                .description("1 while the Twilio circuit breaker is open")
+                .register(meterRegistry);
+
+        log.info("WhatsApp dispatch started with {} workers ({} threads), queue of {}, {} msg/s, drain timeout {}",
+                workers, VirtualThreads.isSupported() ? "virtual" : "platform", queueCapacity, ratePerSecond,
+                drainTimeout);
+    }
+
+    // Validates and queues the message; the caller gets QUEUED and an id to poll
+    public WhatsAppMessageResponse enqueue(WhatsAppMessageRequest request) {
+        if (!whatsAppService.isConfigured()) {
+            throw new BadRequestException("WhatsApp service is not configured");
+        }
+        if (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+            long retryAfter = Math.max(1, circuitBreaker.remainingOpenTime().toSeconds());
+            throw new ServiceUnavailableException("WhatsApp delivery is temporarily unavailable", retryAfter);
+        }
+
+        String messageBody = whatsAppService.buildMessageBody(request);
+        String id = UUID.randomUUID().toString();
+        WhatsAppMessageResponse queued = WhatsAppMessageResponse.builder()
+                .id(id)
+                .dispatchStatus(WhatsAppDispatchStatus.QUEUED)
+                .to(whatsAppService.getRecipient())
+                .queuedAt(LocalDateTime.now())
+                .build();
+        statuses.put(id, queued);
+
+        try {
+            executor.execute(() -> dispatch(queued, messageBody));
+        } catch (RejectedExecutionException e) {
+            statuses.invalidate(id);
+            rejected.increment();
+            throw new TooManyRequestsException("Too many WhatsApp messages queued, try again later",
+                    QUEUE_FULL_RETRY_AFTER_SECONDS);
+        }
+        return queued;
+    }
+
+    public WhatsAppMessageResponse getStatus(String id) {
+        WhatsAppMessageResponse status = statuses.get(id);
+        if (status == null) {
+            throw new ResourceNotFoundException("WhatsApp message not found with id: " + id);
+        }
+        return status;
+    }
+
+    private void dispatch(WhatsAppMessageResponse queued, String messageBody) {
+        try {
+            rateLimit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(queued, "Envío cancelado por apagado del servidor");
+            return;
+        }
+
+        if (!circuitBreaker.tryAcquirePermission()) {
+            fail(queued, "Servicio de WhatsApp no disponible temporalmente");
+            return;
+        }
+
+        statuses.put(queued.getId(), copy(queued).dispatchStatus(WhatsAppDispatchStatus.SENDING).build());
+        try {
+            Message message = whatsAppService.deliver(messageBody);
+            circuitBreaker.recordSuccess();
+            sent.increment();
+            log.info("WhatsApp message {} sent. SID: {}", queued.getId(), message.getSid());
+
+            statuses.put(queued.getId(), copy(queued)
+                    .dispatchStatus(WhatsAppDispatchStatus.SENT)
+                    .messageSid(message.getSid())
+                    .status(message.getStatus().toString())
+                    .sentAt(LocalDateTime.now())
+                    .success(true)
+                    .build());
+        } catch (ApiException e) {
+            if (isTwilioUnavailable(e)) {
+                circuitBreaker.recordFailure();
+            } else {
+                // Twilio answered and refused this message; that says nothing about its health
+                circuitBreaker.recordSuccess();
+            }
+            log.error("Twilio API error sending WhatsApp message {}: {}", queued.getId(), e.getMessage());
+            fail(queued, "Error al enviar mensaje: " + e.getMessage());
+        } catch (RuntimeException e) {
+            circuitBreaker.recordFailure();
+            log.error("Error sending WhatsApp message {}: {}", queued.getId(), e.getMessage());
+            fail(queued, "Error inesperado al enviar mensaje");
+        }
+    }
+
+    // Connection errors have no status code; 429 and 5xx mean Twilio itself is struggling
+    private boolean isTwilioUnavailable(ApiException e) {
+        Integer statusCode = e.getStatusCode();
+        return statusCode == null || statusCode == 429 || statusCode >= 500;
+    }
+
+    private void fail(WhatsAppMessageResponse queued, String errorMessage) {
+        failed.increment();
+        statuses.put(queued.getId(), copy(queued)
+                .dispatchStatus(WhatsAppDispatchStatus.FAILED)
+                .errorMessage(errorMessage)
+                .success(false)
+                .build());
+    }
+
+    private WhatsAppMessageResponse.WhatsAppMessageResponseBuilder copy(WhatsAppMessageResponse response) {
+        return WhatsAppMessageResponse.builder()
+                .id(response.getId())
+                .to(response.getTo())
+                .queuedAt(response.getQueuedAt());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        int queued = executor.getQueue().size();
+        if (queued > 0) {
+            log.info("Draining {} queued WhatsApp messages (up to {})", queued, drainTimeout);
+        }
+        if (!executor.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.error("WhatsApp dispatch did not drain within {}, {} queued messages dropped",
+                    drainTimeout, executor.shutdownNow().size());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- Full-text and trigram search support for products
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Weighted document: name matches rank above description matches
+ALTER TABLE products ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+-- GIN index for ranked prefix search on name and description
+CREATE INDEX idx_products_search_vector ON products USING GIN (search_vector);
+
+-- Trigram index so substring matches on the name avoid a sequential scan
+CREATE INDEX idx_products_name_trgm ON products USING GIN (LOWER(name) gin_trgm_ops);
@@ -0,0 +1,34 @@
+-- Denormalized read model for catalog grids (listing and search)
+CREATE TABLE product_card (
+    product_id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    first_image_url TEXT,
+    category_id BIGINT,
+    category_title VARCHAR(100),
+    average_rating DOUBLE PRECISION NOT NULL DEFAULT 0,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_product_card_product FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Create indexes for the grid queries
+CREATE INDEX idx_product_card_created_at ON product_card(created_at DESC);
+CREATE INDEX idx_product_card_category_created_at ON product_card(category_id, created_at DESC);
+CREATE INDEX idx_product_card_name_trgm ON product_card USING GIN (LOWER(name) gin_trgm_ops);
+
+-- Backfill existing products
+INSERT INTO product_card (product_id, name, first_image_url, category_id, category_title,
+                          average_rating, review_count, created_at, updated_at)
+SELECT p.id,
+       p.name,
+       (SELECT i.url FROM images i WHERE i.product_id = p.id ORDER BY i.id LIMIT 1),
+       p.category_id,
+       c.title,
+       COALESCE((SELECT ROUND(AVG(r.rating), 1) FROM reviews r WHERE r.product_id = p.id), 0),
+       (SELECT COUNT(*) FROM reviews r WHERE r.product_id = p.id),
+       p.created_at,
+       CURRENT_TIMESTAMP
+FROM products p
+LEFT JOIN categories c ON c.id = p.category_id;
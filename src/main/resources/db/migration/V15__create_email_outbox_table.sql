@@ -0,0 +1,22 @@
+-- Create email outbox table (written in the business transaction, delivered by a background dispatcher)
+CREATE TABLE email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    dedupe_key VARCHAR(300) NOT NULL,
+    template VARCHAR(100) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error TEXT,
+    sent_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_email_outbox_dedupe_key UNIQUE (dedupe_key)
+);
+
+-- Dispatcher polls for due rows; SENT rows are only read by the purge
+CREATE INDEX idx_email_outbox_due ON email_outbox(next_attempt_at) WHERE status IN ('PENDING', 'SENDING');
+CREATE INDEX idx_email_outbox_sent_at ON email_outbox(sent_at) WHERE status = 'SENT';
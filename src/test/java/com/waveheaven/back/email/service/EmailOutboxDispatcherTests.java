@@ -0,0 +1,159 @@
+package com.waveheaven.back.email.service;
+
+import com.waveheaven.back.email.entity.EmailOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A batch sent over one SMTP connection can fail for some recipients only: those rows
+ * must go back to the outbox for a retry while the rest are marked sent.
+ */
+class EmailOutboxDispatcherTests {
+
+	private static final String REJECTED = "rejected@example.com";
+
+	private JavaMailSender mailSender;
+	private EmailOutboxService emailOutboxService;
+	private EmailService emailService;
+	private EmailOutboxDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		mailSender = mock(JavaMailSender.class);
+		when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+
+		TemplateEngine templateEngine = mock(TemplateEngine.class);
+		when(templateEngine.process(anyString(), any(IContext.class))).thenReturn("<p>Hola</p>");
+
+		emailOutboxService = mock(EmailOutboxService.class);
+		when(emailOutboxService.readVariables(any())).thenReturn(Map.of());
+
+		emailService = new EmailService(mailSender, templateEngine, emailOutboxService, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@waveheaven.com");
+		ReflectionTestUtils.setField(emailService, "fromName", "WaveHeaven");
+		ReflectionTestUtils.setField(emailService, "frontendUrl", "http://localhost:5173");
+		emailService.init();
+
+		dispatcher = new EmailOutboxDispatcher(emailOutboxService, emailService, Runnable::run, 50, 10);
+	}
+
+	@Test
+	void sendBatchReturnsOnlyTheRejectedMessages() throws Exception {
+		MimeMessage accepted = render("ok@example.com");
+		MimeMessage rejected = render(REJECTED);
+		MessagingException error = new MessagingException("550 mailbox unavailable");
+		doThrow(new MailSendException(Map.of(rejected, error))).when(mailSender).send(any(MimeMessage[].class));
+
+		Map<MimeMessage, Exception> failures = emailService.sendBatch(List.of(accepted, rejected));
+
+		assertThat(failures).containsOnlyKeys(rejected);
+		assertThat(failures.get(rejected)).isSameAs(error);
+	}
+
+	@Test
+	void sendBatchFailsEveryMessageWhenTheConnectionFails() throws Exception {
+		MimeMessage first = render("a@example.com");
+		MimeMessage second = render("b@example.com");
+		doThrow(new MailSendException("Mail server connection failed"))
+				.when(mailSender).send(any(MimeMessage[].class));
+
+		assertThat(emailService.sendBatch(List.of(first, second))).containsOnlyKeys(first, second);
+	}
+
+	@Test
+	void partialFailureRequeuesOnlyTheRejectedRows() {
+		when(emailOutboxService.claimBatch(50)).thenReturn(List.of(
+				row(1L, "a@example.com"),
+				row(2L, REJECTED),
+				row(3L, "c@example.com")
+		));
+		rejectRecipient(REJECTED);
+
+		dispatcher.dispatch();
+
+		verify(emailOutboxService).markFailed(eq(2L), any(MessagingException.class));
+		verify(emailOutboxService, never()).markFailed(eq(1L), any());
+		verify(emailOutboxService, never()).markFailed(eq(3L), any());
+		assertThat(sentIds()).containsExactlyInAnyOrder(1L, 3L);
+	}
+
+	@Test
+	void renderFailureDoesNotBlockTheRestOfTheBatch() throws Exception {
+		EmailOutbox unreadable = row(1L, "a@example.com");
+		when(emailOutboxService.claimBatch(50)).thenReturn(List.of(unreadable, row(2L, "b@example.com")));
+		when(emailOutboxService.readVariables(unreadable)).thenThrow(new IllegalStateException("Unreadable payload"));
+
+		dispatcher.dispatch();
+
+		verify(emailOutboxService).markFailed(eq(1L), any(IllegalStateException.class));
+		verify(emailOutboxService, never()).markFailed(eq(2L), any());
+		assertThat(sentIds()).containsExactly(2L);
+	}
+
+	private void rejectRecipient(String recipient) {
+		doAnswer(invocation -> {
+			Map<Object, Exception> failed = new HashMap<>();
+			// Mockito hands over the varargs either expanded or as the array
+			for (Object argument : invocation.getArguments()) {
+				for (MimeMessage message : argument instanceof MimeMessage[] messages
+						? messages : new MimeMessage[] {(MimeMessage) argument}) {
+					if (Arrays.stream(message.getAllRecipients()).map(Address::toString).anyMatch(recipient::equals)) {
+						failed.put(message, new MessagingException("550 mailbox unavailable"));
+					}
+				}
+			}
+			throw new MailSendException(failed);
+		}).when(mailSender).send(any(MimeMessage[].class));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Collection<Long> sentIds() {
+		ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+		verify(emailOutboxService).markSent(captor.capture());
+		return captor.getValue();
+	}
+
+	private MimeMessage render(String recipient) throws Exception {
+		return emailService.render("email/registration-confirmation", recipient, "Bienvenido", Map.of());
+	}
+
+	private static EmailOutbox row(Long id, String recipient) {
+		EmailOutbox row = EmailOutbox.builder()
+				.template("email/registration-confirmation")
+				.recipient(recipient)
+				.subject("Bienvenido")
+				.payload("{}")
+				.attempts(1)
+				.build();
+		row.setId(id);
+		return row;
+	}
+}
@@ -0,0 +1,93 @@
+package com.waveheaven.back.email.service;
+
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Render cost of the email templates with the Thymeleaf template cache on (the default,
+ * spring.thymeleaf.cache=true) and off. Without the cache every email re-reads and
+ * re-parses its template and the shared layout fragment.
+ */
+class EmailRenderTimingTests {
+
+	private static final int WARMUP = 300;
+	private static final int ITERATIONS = 2_000;
+
+	private static final Map<String, Object> REGISTRATION = Map.of(
+			"firstName", "Ana",
+			"lastName", "García",
+			"email", "ana@example.com",
+			"frontendUrl", "http://localhost:5173",
+			"loginUrl", "http://localhost:5173/login",
+			"reservationsUrl", "http://localhost:5173/my-reservations"
+	);
+
+	private static final Map<String, Object> RESERVATION = Map.of(
+			"userFullName", "Ana García",
+			"reservationId", 42L,
+			"productName", "Tabla de surf 7'2\"",
+			"productImageUrl", "https://example.com/board.jpg",
+			"startDate", "01/03/2026",
+			"endDate", "05/03/2026",
+			"frontendUrl", "http://localhost:5173",
+			"loginUrl", "http://localhost:5173/login",
+			"reservationsUrl", "http://localhost:5173/my-reservations"
+	);
+
+	@Test
+	void cachedTemplatesRenderFasterThanUncached() {
+		long cached = meanRenderNanos(engine(true));
+		long uncached = meanRenderNanos(engine(false));
+
+		System.out.printf("email render mean: cached %d us, uncached %d us%n",
+				TimeUnit.NANOSECONDS.toMicros(cached), TimeUnit.NANOSECONDS.toMicros(uncached));
+		assertThat(cached).isLessThan(uncached);
+	}
+
+	private static long meanRenderNanos(SpringTemplateEngine engine) {
+		for (int i = 0; i < WARMUP; i++) {
+			renderBoth(engine);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			renderBoth(engine);
+		}
+		return (System.nanoTime() - start) / (ITERATIONS * 2L);
+	}
+
+	private static void renderBoth(SpringTemplateEngine engine) {
+		String registration = engine.process("email/registration-confirmation", context(REGISTRATION));
+		String reservation = engine.process("email/reservation-confirmation", context(RESERVATION));
+		assertThat(registration).contains("Ana");
+		assertThat(reservation).contains("42");
+	}
+
+	private static Context context(Map<String, Object> variables) {
+		Context context = new Context();
+		context.setVariables(variables);
+		return context;
+	}
+
+	// Same resolution as Boot's auto-configured engine: classpath:/templates/, .html, HTML mode
+	private static SpringTemplateEngine engine(boolean cacheable) {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setTemplateMode(TemplateMode.HTML);
+		resolver.setCharacterEncoding("UTF-8");
+		resolver.setCacheable(cacheable);
+
+		SpringTemplateEngine engine = new SpringTemplateEngine();
+		engine.setTemplateResolver(resolver);
+		return engine;
+	}
+}
@@ -0,0 +1,121 @@
+package com.waveheaven.back.products;
+
+import com.waveheaven.back.categories.entity.Category;
+import com.waveheaven.back.categories.repository.CategoryRepository;
+import com.waveheaven.back.products.dto.CreateProductRequest;
+import com.waveheaven.back.products.dto.ImageDTO;
+import com.waveheaven.back.products.dto.PolicyDTO;
+import com.waveheaven.back.products.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Mapping a page of products must cost a constant number of SQL statements,
+ * whatever the page size: id page, count, then one projection query each for
+ * products, images, characteristics and policies.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ProductStatementCountTests {
+
+	private static final int PRODUCTS = 20;
+	private static final long MAX_STATEMENTS_PER_PAGE = 6;
+	private static final long MAX_STATEMENTS_PER_PRODUCT = 4;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final List<Long> productIds = new ArrayList<>();
+	private String prefix;
+	private Category category;
+
+	@BeforeEach
+	void seedProducts() {
+		prefix = "stmt-" + UUID.randomUUID().toString().substring(0, 8);
+		category = categoryRepository.save(Category.builder().title(prefix).build());
+
+		for (int i = 0; i < PRODUCTS; i++) {
+			CreateProductRequest request = CreateProductRequest.builder()
+					.name(prefix + " product " + i)
+					.description("Statement count fixture")
+					.categoryId(category.getId())
+					.images(List.of(ImageDTO.builder().url("https://img.test/" + i + ".png").build()))
+					.policies(List.of(PolicyDTO.builder().title("Policy").description("Fixture policy").build()))
+					.build();
+			productIds.add(productService.createProduct(request).getId());
+		}
+	}
+
+	@AfterEach
+	void removeProducts() {
+		productIds.forEach(productService::deleteProduct);
+		categoryRepository.deleteById(category.getId());
+	}
+
+	@Test
+	void listingUsesConstantStatements() throws Exception {
+		assertStatements("/api/products?page=0&size=" + PRODUCTS, MAX_STATEMENTS_PER_PAGE);
+	}
+
+	@Test
+	void categoryListingUsesConstantStatements() throws Exception {
+		// One extra statement for the category existence check
+		assertStatements("/api/products/category/" + category.getId() + "?size=" + PRODUCTS, MAX_STATEMENTS_PER_PAGE + 1);
+	}
+
+	@Test
+	void searchUsesConstantStatements() throws Exception {
+		assertStatements("/api/products/search?name=" + prefix + "&size=" + PRODUCTS, MAX_STATEMENTS_PER_PAGE);
+	}
+
+	@Test
+	void scrollUsesConstantStatements() throws Exception {
+		assertStatements("/api/products/scroll?size=" + PRODUCTS, MAX_STATEMENTS_PER_PAGE);
+	}
+
+	@Test
+	void randomUsesConstantStatements() throws Exception {
+		assertStatements("/api/products/random?count=10", MAX_STATEMENTS_PER_PAGE);
+	}
+
+	@Test
+	void productByIdUsesConstantStatements() throws Exception {
+		assertStatements("/api/products/" + productIds.get(0), MAX_STATEMENTS_PER_PRODUCT);
+	}
+
+	private void assertStatements(String url, long maxStatements) throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		mockMvc.perform(get(url)).andExpect(status().isOk());
+
+		assertThat(statistics.getPrepareStatementCount())
+				.as("SQL statements for GET %s", url)
+				.isLessThanOrEqualTo(maxStatements);
+	}
+}
@@ -0,0 +1,70 @@
+package com.waveheaven.back.products.service;
+
+import com.waveheaven.back.products.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Floyd sampling over the id snapshot: distinct ids drawn from the catalog, capped at
+ * the catalog size, and an empty result for an empty catalog.
+ */
+class RandomProductSamplerTests {
+
+	@Test
+	void samplesDistinctIdsFromTheCatalog() {
+		List<Long> catalog = LongStream.rangeClosed(1, 50).boxed().toList();
+		RandomProductSampler sampler = samplerOver(catalog);
+
+		for (int round = 0; round < 200; round++) {
+			List<Long> sampled = sampler.sample(10);
+
+			assertThat(sampled).hasSize(10);
+			assertThat(sampled).doesNotHaveDuplicates();
+			assertThat(sampled).isSubsetOf(catalog);
+		}
+	}
+
+	@Test
+	void reachesEveryIdOverManySamples() {
+		List<Long> catalog = LongStream.rangeClosed(1, 20).boxed().toList();
+		RandomProductSampler sampler = samplerOver(catalog);
+
+		Set<Long> seen = new HashSet<>();
+		for (int round = 0; round < 500; round++) {
+			seen.addAll(sampler.sample(3));
+		}
+
+		assertThat(seen).hasSize(catalog.size());
+	}
+
+	@Test
+	void countAboveCatalogSizeReturnsTheWholeCatalog() {
+		RandomProductSampler sampler = samplerOver(List.of(3L, 7L, 9L));
+
+		assertThat(sampler.sample(10)).containsExactlyInAnyOrder(3L, 7L, 9L);
+	}
+
+	@Test
+	void emptyCatalogOrNonPositiveCountReturnsNothing() {
+		assertThat(samplerOver(List.of()).sample(5)).isEmpty();
+		assertThat(samplerOver(List.of(1L, 2L)).sample(0)).isEmpty();
+		assertThat(samplerOver(List.of(1L, 2L)).sample(-1)).isEmpty();
+	}
+
+	private static RandomProductSampler samplerOver(List<Long> ids) {
+		ProductRepository productRepository = mock(ProductRepository.class);
+		when(productRepository.findAllIds()).thenReturn(ids);
+
+		RandomProductSampler sampler = new RandomProductSampler(productRepository);
+		sampler.load();
+		return sampler;
+	}
+}
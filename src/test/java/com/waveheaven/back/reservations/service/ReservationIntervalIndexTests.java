@@ -0,0 +1,126 @@
+package com.waveheaven.back.reservations.service;
+
+import com.waveheaven.back.reservations.dto.ReservationInterval;
+import com.waveheaven.back.reservations.service.ReservationIntervalIndex.ProductIntervals;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overlap, insert and remove on the per-product interval arrays, and writes that land
+ * while the index is being (re)loaded from a database snapshot.
+ */
+class ReservationIntervalIndexTests {
+
+	private static final Long PRODUCT = 1L;
+	private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+	@Test
+	void overlapsIsInclusiveOnBothEnds() {
+		ProductIntervals intervals = ProductIntervals.of(List.of(interval(10L, 5, 9)));
+
+		assertThat(intervals.overlaps(day(1), day(4))).isFalse();
+		assertThat(intervals.overlaps(day(1), day(5))).isTrue();
+		assertThat(intervals.overlaps(day(9), day(12))).isTrue();
+		assertThat(intervals.overlaps(day(10), day(12))).isFalse();
+		assertThat(intervals.overlaps(day(6), day(7))).isTrue();
+		assertThat(intervals.overlaps(day(0), day(20))).isTrue();
+	}
+
+	@Test
+	void overlapsSeesLongIntervalsThatStartEarlier() {
+		ProductIntervals intervals = ProductIntervals.of(List.of(
+				interval(10L, 0, 30),
+				interval(11L, 5, 6),
+				interval(12L, 10, 11)
+		));
+
+		// The closest start before day 20 is day 10, which ends at 11; only the running max sees day 30
+		assertThat(intervals.overlaps(day(20), day(21))).isTrue();
+		assertThat(intervals.overlaps(day(31), day(40))).isFalse();
+	}
+
+	@Test
+	void withKeepsIntervalsSortedAndIgnoresDuplicates() {
+		ProductIntervals intervals = ProductIntervals.EMPTY
+				.with(interval(10L, 20, 22))
+				.with(interval(11L, 1, 3))
+				.with(interval(12L, 10, 12));
+
+		assertThat(intervals.overlaps(day(2), day(2))).isTrue();
+		assertThat(intervals.overlaps(day(11), day(11))).isTrue();
+		assertThat(intervals.overlaps(day(21), day(21))).isTrue();
+		assertThat(intervals.overlaps(day(4), day(9))).isFalse();
+		assertThat(intervals.overlaps(day(13), day(19))).isFalse();
+
+		assertThat(intervals.with(interval(12L, 10, 12))).isSameAs(intervals);
+	}
+
+	@Test
+	void withoutRemovesOnlyThatReservation() {
+		ProductIntervals intervals = ProductIntervals.of(List.of(
+				interval(10L, 1, 3),
+				interval(11L, 5, 7),
+				interval(12L, 9, 11)
+		));
+
+		ProductIntervals updated = intervals.without(11L);
+
+		assertThat(updated.overlaps(day(6), day(6))).isFalse();
+		assertThat(updated.overlaps(day(2), day(2))).isTrue();
+		assertThat(updated.overlaps(day(10), day(10))).isTrue();
+		assertThat(updated.without(99L)).isSameAs(updated);
+		assertThat(updated.without(10L).without(12L).isEmpty()).isTrue();
+	}
+
+	@Test
+	void removeDuringLoadIsAppliedToTheSnapshot() {
+		ReservationIntervalIndex index = new ReservationIntervalIndex();
+
+		assertThat(index.beginLoad()).isTrue();
+		// Cancellation commits after the snapshot query already read the reservation
+		index.remove(PRODUCT, 10L);
+		index.finishLoad(List.of(interval(10L, 1, 3), interval(11L, 5, 7)));
+
+		assertThat(index.isReady()).isTrue();
+		assertThat(index.hasOverlap(PRODUCT, DAY.plusDays(1), DAY.plusDays(3))).isFalse();
+		assertThat(index.hasOverlap(PRODUCT, DAY.plusDays(5), DAY.plusDays(7))).isTrue();
+	}
+
+	@Test
+	void addDuringLoadIsAppliedToTheSnapshot() {
+		ReservationIntervalIndex index = new ReservationIntervalIndex();
+
+		index.beginLoad();
+		index.add(interval(12L, 20, 22));
+		index.finishLoad(List.of(interval(10L, 1, 3)));
+
+		assertThat(index.hasOverlap(PRODUCT, DAY.plusDays(21), DAY.plusDays(21))).isTrue();
+		assertThat(index.findBlockedProductIds(DAY.plusDays(20), DAY.plusDays(22))).containsExactly(PRODUCT);
+	}
+
+	@Test
+	void reloadDropsReservationsMissingFromTheSnapshot() {
+		ReservationIntervalIndex index = new ReservationIntervalIndex();
+		index.beginLoad();
+		index.finishLoad(List.of(interval(10L, 1, 3)));
+
+		// Cancelled on another node: the next resync no longer returns it
+		assertThat(index.beginLoad()).isTrue();
+		assertThat(index.beginLoad()).isFalse();
+		index.finishLoad(List.of());
+
+		assertThat(index.hasOverlap(PRODUCT, DAY.plusDays(1), DAY.plusDays(3))).isFalse();
+	}
+
+	private static ReservationInterval interval(Long reservationId, int startOffset, int endOffset) {
+		return new ReservationInterval(reservationId, PRODUCT, DAY.plusDays(startOffset), DAY.plusDays(endOffset));
+	}
+
+	private static long day(int offset) {
+		return DAY.plusDays(offset).toEpochDay();
+	}
+}
@@ -0,0 +1,63 @@
+package com.waveheaven.back.shared.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Size-bound eviction is least recently used: a read keeps an entry young, so the
+ * entry dropped at the bound is the one nobody touched.
+ */
+class BoundedTtlCacheTests {
+
+	private final BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(3, Duration.ofHours(1));
+
+	@Test
+	void evictsTheLeastRecentlyReadEntry() {
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.put("c", 3);
+
+		cache.get("a");
+		cache.put("d", 4);
+
+		assertThat(cache.get("a")).isEqualTo(1);
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("c")).isEqualTo(3);
+		assertThat(cache.get("d")).isEqualTo(4);
+		assertThat(cache.size()).isEqualTo(3);
+	}
+
+	@Test
+	void rewritingAnEntryMakesItRecent() {
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.put("c", 3);
+
+		cache.put("a", 10);
+		cache.put("d", 4);
+
+		assertThat(cache.get("a")).isEqualTo(10);
+		assertThat(cache.get("b")).isNull();
+	}
+
+	@Test
+	void loaderResultIsCachedButMissesAreNot() {
+		assertThat(cache.get("a", key -> 1)).isEqualTo(1);
+		assertThat(cache.get("a", key -> 2)).isEqualTo(1);
+
+		assertThat(cache.get("missing", key -> null)).isNull();
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void expiredEntriesAreNotReturned() {
+		BoundedTtlCache<String, Integer> expiring = new BoundedTtlCache<>(3, Duration.ZERO);
+		expiring.put("a", 1);
+
+		assertThat(expiring.get("a")).isNull();
+		assertThat(expiring.size()).isEqualTo(0);
+	}
+}
@@ -0,0 +1,74 @@
+package com.waveheaven.back.shared.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GCRA behaviour on a manual clock: a full bucket grants the burst at once, then one
+ * permit per emission interval, and refills to the full burst after being idle.
+ */
+class TokenBucketTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+	@Test
+	void grantsTheBurstAtOnceThenRejects() {
+		TokenBucket bucket = new TokenBucket(2, 5, clock::get);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(bucket.tryAcquire()).isZero();
+		}
+		// Next permit is one emission interval (500ms) away
+		assertThat(bucket.tryAcquire()).isEqualTo(SECOND / 2);
+	}
+
+	@Test
+	void rejectionDoesNotConsumeAPermit() {
+		TokenBucket bucket = new TokenBucket(1, 1, clock::get);
+
+		assertThat(bucket.tryAcquire()).isZero();
+		assertThat(bucket.tryAcquire()).isEqualTo(SECOND);
+		assertThat(bucket.tryAcquire()).isEqualTo(SECOND);
+
+		clock.addAndGet(SECOND);
+		assertThat(bucket.tryAcquire()).isZero();
+	}
+
+	@Test
+	void refillsOnePermitPerEmissionInterval() {
+		TokenBucket bucket = new TokenBucket(2, 3, clock::get);
+		for (int i = 0; i < 3; i++) {
+			bucket.tryAcquire();
+		}
+
+		clock.addAndGet(SECOND / 4);
+		assertThat(bucket.tryAcquire()).isEqualTo(SECOND / 4);
+
+		clock.addAndGet(SECOND / 4);
+		assertThat(bucket.tryAcquire()).isZero();
+		assertThat(bucket.tryAcquire()).isPositive();
+	}
+
+	@Test
+	void refillsToTheBurstButNotBeyond() {
+		TokenBucket bucket = new TokenBucket(10, 4, clock::get);
+		for (int i = 0; i < 4; i++) {
+			bucket.tryAcquire();
+		}
+		assertThat(bucket.isIdle()).isFalse();
+
+		clock.addAndGet(60 * SECOND);
+		assertThat(bucket.isIdle()).isTrue();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(bucket.tryAcquire()).isZero();
+		}
+		assertThat(bucket.tryAcquire()).isPositive();
+	}
+}
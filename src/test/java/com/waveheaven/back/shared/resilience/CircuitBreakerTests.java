@@ -0,0 +1,96 @@
+package com.waveheaven.back.shared.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * State transitions on a manual clock: CLOSED to OPEN after the failure threshold,
+ * OPEN to HALF_OPEN once the open duration elapses, and a single trial call that
+ * closes or reopens the circuit.
+ */
+class CircuitBreakerTests {
+
+	private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+	private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+	private final CircuitBreaker breaker = new CircuitBreaker("test", 3, OPEN_DURATION, clock::get);
+
+	@Test
+	void opensAfterConsecutiveFailures() {
+		for (int i = 0; i < 2; i++) {
+			assertThat(breaker.tryAcquirePermission()).isTrue();
+			breaker.recordFailure();
+		}
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+		breaker.tryAcquirePermission();
+		breaker.recordFailure();
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+		assertThat(breaker.remainingOpenTime()).isEqualTo(OPEN_DURATION);
+	}
+
+	@Test
+	void successResetsTheFailureCount() {
+		breaker.recordFailure();
+		breaker.recordFailure();
+		breaker.recordSuccess();
+		breaker.recordFailure();
+		breaker.recordFailure();
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void letsOneTrialThroughAfterTheOpenDuration() {
+		open();
+
+		clock.addAndGet(OPEN_DURATION.toNanos() - 1);
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+
+		clock.addAndGet(1);
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+		assertThat(breaker.remainingOpenTime()).isEqualTo(Duration.ZERO);
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+	}
+
+	@Test
+	void successfulTrialClosesTheCircuit() {
+		open();
+		clock.addAndGet(OPEN_DURATION.toNanos());
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		breaker.recordSuccess();
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+	}
+
+	@Test
+	void failedTrialReopensTheCircuit() {
+		open();
+		clock.addAndGet(OPEN_DURATION.toNanos());
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		breaker.recordFailure();
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+		assertThat(breaker.remainingOpenTime()).isEqualTo(OPEN_DURATION);
+	}
+
+	private void open() {
+		for (int i = 0; i < 3; i++) {
+			breaker.tryAcquirePermission();
+			breaker.recordFailure();
+		}
+	}
+}
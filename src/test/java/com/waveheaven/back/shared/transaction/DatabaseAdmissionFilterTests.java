@@ -0,0 +1,102 @@
+package com.waveheaven.back.shared.transaction;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * With open-in-view a request keeps its connection until the response is written, so
+ * requests holding a connection at the same time must never outnumber the permits.
+ */
+@SpringBootTest(properties = {
+		"app.db.admission.enabled=true",
+		"app.db.admission.max-concurrent=3",
+		"app.db.admission.timeout=30s",
+		"app.rate-limit.enabled=false",
+		"app.mail.outbox.dispatcher.enabled=false"
+})
+@AutoConfigureMockMvc
+@Import(DatabaseAdmissionFilterTests.AdmissionProbeController.class)
+class DatabaseAdmissionFilterTests {
+
+	private static final int MAX_CONCURRENT = 3;
+	private static final int REQUESTS = 24;
+	private static final long HOLD_MILLIS = 150;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdmissionProbeController probe;
+
+	@Test
+	void connectionsInFlightNeverExceedPermits() throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(REQUESTS);
+		try {
+			List<Future<Integer>> statuses = new ArrayList<>();
+			for (int i = 0; i < REQUESTS; i++) {
+				statuses.add(clients.submit(() -> mockMvc.perform(get(AdmissionProbeController.PATH).with(user("probe")))
+						.andReturn()
+						.getResponse()
+						.getStatus()));
+			}
+			for (Future<Integer> status : statuses) {
+				assertThat(status.get(30, TimeUnit.SECONDS)).isEqualTo(200);
+			}
+		} finally {
+			clients.shutdownNow();
+		}
+
+		assertThat(probe.maxInFlight.get())
+				.as("requests holding a connection at the same time")
+				.isLessThanOrEqualTo(MAX_CONCURRENT)
+				.isGreaterThan(1);
+	}
+
+	@RestController
+	static class AdmissionProbeController {
+
+		static final String PATH = "/api/test/admission-probe";
+
+		private final EntityManager entityManager;
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicInteger maxInFlight = new AtomicInteger();
+
+		AdmissionProbeController(EntityManager entityManager) {
+			this.entityManager = entityManager;
+		}
+
+		@GetMapping(PATH)
+		String probe() throws InterruptedException {
+			// Checks out the request's connection, which open-in-view holds until the response
+			entityManager.createNativeQuery("SELECT 1").getSingleResult();
+
+			int current = inFlight.incrementAndGet();
+			maxInFlight.accumulateAndGet(current, Math::max);
+			try {
+				Thread.sleep(HOLD_MILLIS);
+			} finally {
+				inFlight.decrementAndGet();
+			}
+			return "ok";
+		}
+	}
+}